@@ -0,0 +1,251 @@
+package ds.arraylist;
+/**
+ * Copy-on-write variant of MyArrayList for lists that are read far more often than they
+ * are changed.
+ * The elements are held in a volatile array that is never modified once published. Readers
+ * take the current array and work on it without locking, so they never wait and always see
+ * a consistent snapshot. Every write copies the array under a lock and publishes the copy.
+ *
+ * update() applies a batch of edits to a single private copy and publishes it once, so k
+ * changes cost two copies of the array instead of k: the private copy, made with
+ * BATCH_HEADROOM spare slots so that adding that many elements does not grow it, and the
+ * copy trimming it to the final size. A batch adding more grows the private copy as well.
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+@SuppressWarnings("unchecked")
+public class CopyOnWriteArrayList<E> implements Iterable<E> {
+
+  // class variables
+  private static final Object[] EMPTY = new Object[0];
+  private static final int BATCH_HEADROOM = 16; // Spare slots in the private copy made by update()
+  private final Object lock = new Object();
+  private volatile Object[] array = EMPTY;
+
+  //constructors
+
+  public CopyOnWriteArrayList() { }
+
+  public CopyOnWriteArrayList(E[] elements) {
+    array = Arrays.copyOf(elements, elements.length, Object[].class);
+  }
+
+  // Read methods, lock-free
+
+  public E get(int i) throws IndexOutOfBoundsException {
+    final Object[] a = array;
+    if(i < 0 || i >= a.length)
+      throw new IndexOutOfBoundsException("Illegal index: "+ i);
+    return (E) a[i];
+  }
+
+  // Returns number of elements in the arraylist
+  public int size() { return array.length; }
+
+  public boolean isEmpty() { return array.length == 0; }
+
+  public boolean contains(Object o) {
+    return indexOf(o, array) >= 0;
+  }
+
+  // Returns the index of the first occurrence of o, or -1
+  public int indexOf(Object o) {
+    return indexOf(o, array);
+  }
+
+  // Returns a copy of the elements
+  public Object[] toArray() {
+    final Object[] a = array;
+    return Arrays.copyOf(a, a.length);
+  }
+
+  // Performs action on every element of the current snapshot
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    for(Object e : array)
+      action.accept((E) e);
+  }
+
+  // Iterates over the snapshot taken when the iterator was created. It never throws
+  // ConcurrentModificationException and does not see later writes
+  @Override
+  public java.util.Iterator<E> iterator() {
+    final Object[] snapshot = array;
+    return new java.util.Iterator<E>() {
+      int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < snapshot.length;
+      }
+
+      @Override
+      public E next() {
+        if(index >= snapshot.length)
+          throw new NoSuchElementException();
+        return (E) snapshot[index++];
+      }
+    };
+  }
+
+  // Write methods, each copies the array once
+
+  // Adds specified element to the end of the list
+  public boolean add(E e) {
+    synchronized(lock) {
+      final Object[] a = array;
+      Object[] copy = Arrays.copyOf(a, a.length + 1);
+      copy[a.length] = e;
+      array = copy;
+      return true;
+    }
+  }
+
+  // Adds element to the specified index. Shifts the initial element and any subsequent elements to the right
+  public void add(int index, E element) throws IndexOutOfBoundsException {
+    synchronized(lock) {
+      final Object[] a = array;
+      checkIndex(index, a.length + 1);
+      Object[] copy = new Object[a.length + 1];
+      System.arraycopy(a, 0, copy, 0, index);
+      System.arraycopy(a, index, copy, index + 1, a.length - index);
+      copy[index] = element;
+      array = copy;
+    }
+  }
+
+  // Adds element unless the list already contains it
+  // Returns true if it was added
+  public boolean addIfAbsent(E e) {
+    synchronized(lock) {
+      if(indexOf(e, array) >= 0)
+        return false;
+      return add(e);
+    }
+  }
+
+  // Adds all elements to the end of the list with a single copy
+  public boolean addAll(E[] elements) {
+    if(elements.length == 0)
+      return false;
+    synchronized(lock) {
+      final Object[] a = array;
+      Object[] copy = Arrays.copyOf(a, a.length + elements.length);
+      System.arraycopy(elements, 0, copy, a.length, elements.length);
+      array = copy;
+      return true;
+    }
+  }
+
+  // Replaces the element in list with specified element
+  // Returns the element previously at the specified location
+  public E set(int i, E e) throws IndexOutOfBoundsException {
+    synchronized(lock) {
+      final Object[] a = array;
+      checkIndex(i, a.length);
+      E temp = (E) a[i];
+      if(temp != e) {
+        Object[] copy = Arrays.copyOf(a, a.length);
+        copy[i] = e;
+        array = copy;
+      }
+      return temp;
+    }
+  }
+
+  // Removes the element at the specified position. Shifts subsequent elements to the left.
+  public E remove(int i) throws IndexOutOfBoundsException {
+    synchronized(lock) {
+      final Object[] a = array;
+      checkIndex(i, a.length);
+      E temp = (E) a[i];
+      Object[] copy = new Object[a.length - 1];
+      System.arraycopy(a, 0, copy, 0, i);
+      System.arraycopy(a, i + 1, copy, i, a.length - i - 1);
+      array = copy;
+      return temp;
+    }
+  }
+
+  // Removes the first occurrence of o
+  public boolean remove(Object o) {
+    synchronized(lock) {
+      int i = indexOf(o, array);
+      if(i < 0)
+        return false;
+      remove(i);
+      return true;
+    }
+  }
+
+  // Removes every element that matches the filter, with a single copy
+  public boolean removeIf(Predicate<? super E> filter) {
+    if(filter == null)
+      throw new IllegalArgumentException("Null filter");
+    synchronized(lock) {
+      final Object[] a = array;
+      Object[] kept = new Object[a.length];
+      int n = 0;
+      for(Object e : a) {
+        if(!filter.test((E) e))
+          kept[n++] = e;
+      }
+      if(n == a.length)
+        return false;
+      array = Arrays.copyOf(kept, n);
+      return true;
+    }
+  }
+
+  public void clear() {
+    synchronized(lock) {
+      array = EMPTY;
+    }
+  }
+
+  // Applies a batch of edits to one private copy of the list, then publishes it.
+  // Readers see either none or all of the edits. The MyArrayList passed to edits must not
+  // be kept after edits returns. If edits throws, the list is left unchanged
+  public void update(Consumer<? super MyArrayList<E>> edits) {
+    synchronized(lock) {
+      final Object[] a = array;
+      MyArrayList<E> list = new MyArrayList<>(Arrays.copyOf(a, a.length + BATCH_HEADROOM), a.length);
+      edits.accept(list);
+      Object[] result = list.elementData();
+      array = (result.length == list.size()) ? result : Arrays.copyOf(result, list.size());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(array);
+  }
+
+  // Private helpers
+
+  private static int indexOf(Object o, Object[] a) {
+    if(o == null) {
+      for(int i=0; i<a.length; i++) {
+        if(a[i] == null)
+          return i;
+      }
+    } else {
+      for(int i=0; i<a.length; i++) {
+        if(o.equals(a[i]))
+          return i;
+      }
+    }
+    return -1;
+  }
+
+  // Checks if index is between 0 to n-1;
+  private static void checkIndex(int i, int n) {
+    if( i<0 || i>= n)
+      throw new IndexOutOfBoundsException("Illegal index: "+ i);
+  }
+
+}
@@ -0,0 +1,191 @@
+package ds.arraylist;
+/**
+ * ArrayList of primitive ints.
+ * Values are kept unboxed in one dense int[], so there is no object per element and
+ * scans read contiguous memory. Same API as MyArrayList, plus bulk and search methods.
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+public class IntArrayList implements Iterable<Integer> {
+
+  // class variables
+  private int[] array;
+  private static final int CAPACITY = 10; // Default capacity value
+  private int size = 0;
+
+  //constructors
+
+  public IntArrayList(){this(CAPACITY);}
+
+  public IntArrayList(int initialCapacity) {
+    if(initialCapacity < 0)
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    array = new int[initialCapacity];
+  }
+
+  // Methods
+
+  // Adds specified value to the end of the list
+  public boolean add(int value) {
+    if(size == array.length)
+      grow(size + 1);
+    array[size++] = value;
+    return true;
+  }
+
+  // Adds value to the specified index. Shifts the initial value and any subsequent values to the right
+  public void add(int index, int value) throws IndexOutOfBoundsException {
+    checkIndex(index, size+1);
+
+    if(size == array.length)
+      grow(size + 1);
+    System.arraycopy(array, index, array, index + 1, size - index);
+    array[index] = value;
+    size++;
+  }
+
+  // Adds all the values to the end of the list with a single copy
+  public boolean addAll(int[] values) {
+    return addAll(values, 0, values.length);
+  }
+
+  // Adds values[offset] to values[offset + length - 1] to the end of the list
+  public boolean addAll(int[] values, int offset, int length) {
+    if(offset < 0 || length < 0 || offset > values.length - length)
+      throw new IndexOutOfBoundsException("Illegal range: " + offset + ", " + length);
+    if(size + length > array.length)
+      grow(size + length);
+    System.arraycopy(values, offset, array, size, length);
+    size += length;
+    return length != 0;
+  }
+
+  public boolean contains(int value) {
+    return indexOf(value) >= 0;
+  }
+
+  // Returns the index of the first occurrence of value, or -1
+  public int indexOf(int value) {
+    final int[] a = array;
+    for(int i=0; i<size; i++) {
+      if(a[i] == value)
+        return i;
+    }
+    return -1;
+  }
+
+  public int get(int i) throws IndexOutOfBoundsException {
+    checkIndex(i, size);
+    return array[i];
+  }
+
+  // Returns number of values in the arraylist
+  public int size() { return this.size; }
+
+  // Returns length / capacity of arraylist
+  public int length() { return array.length;}
+
+  public boolean isEmpty() {return size==0;}
+
+  // Removes all values. The capacity is kept
+  public void clear() { size = 0; }
+
+  // Removes the value at the specified position. Shifts subsequent values to the left.
+  public int remove(int i) throws IndexOutOfBoundsException {
+    checkIndex(i, size);
+
+    int temp = array[i];
+    System.arraycopy(array, i + 1, array, i, size - i - 1);
+    size--;
+    return temp;
+  }
+
+  // Removes the first occurrence of value
+  public boolean removeValue(int value) {
+    int i = indexOf(value);
+    if(i < 0)
+      return false;
+    remove(i);
+    return true;
+  }
+
+  // Replaces the value in list with specified value
+  // Returns the value previously at the specified location
+  public int set(int i, int value) throws IndexOutOfBoundsException {
+    checkIndex(i, size);
+
+    int temp = array[i];
+    array[i] = value;
+    return temp;
+  }
+
+  // Returns a copy of the values, in list order
+  public int[] toArray() {
+    return Arrays.copyOf(array, size);
+  }
+
+  // Sorts the values in ascending order
+  public void sort() {
+    Arrays.sort(array, 0, size);
+  }
+
+  // Searches the sorted list for value
+  // Returns the index of value, or (-(insertion point) - 1) if it is not in the list
+  public int binarySearch(int value) {
+    return Arrays.binarySearch(array, 0, size, value);
+  }
+
+  // Performs action on every value without boxing
+  public void forEachInt(IntConsumer action) {
+    final int[] a = array;
+    final int n = size;
+    for(int i=0; i<n; i++)
+      action.accept(a[i]);
+  }
+
+  // Checks if index is between 0 to n-1;
+  protected void checkIndex(int i, int n) {
+    if( i<0 || i>= n)
+      throw new IndexOutOfBoundsException("Illegal index: "+ i);
+  }
+
+  // Grows the array by half its length, or to minCapacity if that is larger
+  private void grow(int minCapacity) {
+    int capacity = Math.max(minCapacity, array.length + (array.length >> 1));
+    array = Arrays.copyOf(array, Math.max(capacity, CAPACITY));
+  }
+
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public int nextInt() {
+        if(index >= size)
+          throw new NoSuchElementException();
+        return array[index++];
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    if (size == 0) return "[]";
+    else {
+      StringBuilder sb = new StringBuilder(size * 4).append("[");
+      for (int i = 0; i < size - 1; i++) sb.append(array[i]).append(", ");
+      return sb.append(array[size - 1]).append("]").toString();
+    }
+  }
+
+}
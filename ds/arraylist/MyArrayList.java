@@ -2,39 +2,78 @@ package ds.arraylist;
 /**
  * ArrayList implementation of the List Interface.
  * 
+ * When the array is full it grows by growthFactor (1.5 by default). Shifts, growth and
+ * bulk operations are done with System.arraycopy / Arrays.copyOf, and removeIf,
+ * removeAll and retainAll mark the elements to drop, then compact the array in a single pass.
+ *
+ * parallelSort, parallelForEach and parallelReduce split the array into ranges that run
+ * as fork-join tasks, on the ForkJoinPool passed to them or on the common pool. Ranges
+ * no longer than the sequential cutoff are processed by a single task.
  */
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 @SuppressWarnings("unchecked")
 public class MyArrayList<E> implements Iterable<E> {
 
   // class variables
   private E[] array;
   private static final int CAPACITY = 10; // Default capacity value
+  private static final double GROWTH_FACTOR = 1.5; // Default growth factor
+  private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+  private static final int SEQUENTIAL_CUTOFF = 1 << 13; // Default range size below which tasks stop splitting
+  private final double growthFactor;
   private int size = 0;
+  private int modCount = 0; // Number of structural modifications, for fail-fast iteration
+  private int sequentialCutoff = SEQUENTIAL_CUTOFF;
 
   //constructors
 
   public MyArrayList(){this(CAPACITY);}
 
   public MyArrayList(int initialCapacity) {
+    this(initialCapacity, GROWTH_FACTOR);
+  }
+
+  // growthFactor : the array is multiplied by this factor when it is full, must be > 1
+  public MyArrayList(int initialCapacity, double growthFactor) {
+    if(initialCapacity < 0)
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    if(!(growthFactor > 1.0))
+      throw new IllegalArgumentException("Illegal growth factor: " + growthFactor);
+    this.growthFactor = growthFactor;
     array = (E[]) new Object[initialCapacity];
   }
 
+  // Wraps array without copying it. The first size slots are the elements
+  MyArrayList(Object[] array, int size) {
+    this.growthFactor = GROWTH_FACTOR;
+    this.array = (E[]) array;
+    this.size = size;
+  }
+
   // Methods
 
   // Adds specified element to the end of the list
   public boolean add(E e) {
-    int N = this.size;
-
-    if(N<array.length && array[N]==null) {
-      array[N] = e;
-      size++;
-      return true;
-    }else {
-      this.resize(size*2);
-      array[size++] = e;
-      return true;
-    }
+    if(size == array.length)
+      grow(size + 1);
+    array[size++] = e;
+    modCount++;
+    return true;
   }
 
   // Adds element to the specified index. Shifts the initial element and any subsequent elements to the right
@@ -42,25 +81,53 @@ public class MyArrayList<E> implements Iterable<E> {
     checkIndex(index, size+1);
     
     if(size == array.length)
-      resize(2*array.length);
-    // for(int k=size-1; k>=index; k--) {
-    //   array[k+1] = array[k];
-    // }
+      grow(size + 1);
     System.arraycopy(array, index, array, index + 1, size - index);
     array[index] = element;
     size++;
+    modCount++;
+  }
+
+  // Adds all elements to the end of the list, growing the array at most once
+  public boolean addAll(E[] elements) {
+    return insertAll(size, elements, elements.length);
+  }
+
+  // Adds all elements of other to the end of the list, growing the array at most once
+  public boolean addAll(MyArrayList<? extends E> other) {
+    return insertAll(size, other.array, other.size);
+  }
+
+  // Inserts all elements of other at the specified index. Shifts the initial element and
+  // any subsequent elements to the right, once for the whole batch
+  public boolean addAll(int index, MyArrayList<? extends E> other) throws IndexOutOfBoundsException {
+    checkIndex(index, size+1);
+    return insertAll(index, other.array, other.size);
   }
 
   public boolean contains(Object o) {
-    for(int i=0; i<size; i++) {
-      if(array[i].equals(o))
-        return true;
+    return indexOf(o) >= 0;
+  }
+
+  // Returns the index of the first occurrence of o, or -1
+  public int indexOf(Object o) {
+    final Object[] a = array;
+    if(o == null) {
+      for(int i=0; i<size; i++) {
+        if(a[i] == null)
+          return i;
+      }
+    } else {
+      for(int i=0; i<size; i++) {
+        if(o.equals(a[i]))
+          return i;
+      }
     }
-    return false;
+    return -1;
   }
 
   public E get(int i) throws IndexOutOfBoundsException {
-    checkIndex(i, array.length);
+    checkIndex(i, size);
     return array[i];
   }
 
@@ -72,27 +139,73 @@ public class MyArrayList<E> implements Iterable<E> {
 
   public boolean isEmpty() {return size==0;}
 
+  // Removes all elements. The capacity is kept
+  public void clear() {
+    Arrays.fill(array, 0, size, null);
+    size = 0;
+    modCount++;
+  }
+
   // Removes the element at the specified position. Shifts subsequent elements to the left.
   public E remove(int i) throws IndexOutOfBoundsException {
     checkIndex(i, size);
 
     E temp = array[i];
-    for(int j=i; j<size-1; j++) {
-      array[j] = array[j+1];
-    }
-    array[--size] = null;
+    fastRemove(i);
     return temp;
   }
 
+  // Removes the first occurrence of o
   public boolean remove(Object o) {
-    for(int i=0; i<array.length; i++) {
-      if(o.equals(array[i])) {
-        System.out.println(i);
-        remove(i);
-        return true;
+    int i = indexOf(o);
+    if(i < 0)
+      return false;
+    fastRemove(i);
+    return true;
+  }
+
+  // Removes every element that matches the filter
+  // The filter is run over the whole list first and the matches are marked in a bitset, then
+  // the array is compacted in one pass. A filter that throws leaves the list unchanged
+  // Returns true if any element was removed
+  public boolean removeIf(Predicate<? super E> filter) {
+    if(filter == null)
+      throw new IllegalArgumentException("Null filter");
+    final E[] a = array;
+    final int n = size;
+    final int expectedModCount = modCount;
+    long[] marked = null;
+    for(int i=0; i<n; i++) {
+      if(filter.test(a[i])) {
+        if(marked == null)
+          marked = new long[(n + 63) >>> 6];
+        marked[i >>> 6] |= 1L << i;
       }
     }
-    return false;
+    checkForComodification(expectedModCount);
+    if(marked == null)
+      return false;
+    int w = 0;
+    for(int r=0; r<n; r++) {
+      if((marked[r >>> 6] & (1L << r)) == 0)
+        a[w++] = a[r];
+    }
+    return truncate(w);
+  }
+
+  // Removes every element contained in c, in one pass. c.contains is called once per element,
+  // so pass a HashSet rather than a list for large batches
+  public boolean removeAll(Collection<?> c) {
+    if(c == null)
+      throw new IllegalArgumentException("Null collection");
+    return removeIf(c::contains);
+  }
+
+  // Keeps only the elements contained in c, in one pass
+  public boolean retainAll(Collection<?> c) {
+    if(c == null)
+      throw new IllegalArgumentException("Null collection");
+    return removeIf(e -> !c.contains(e));
   }
 
   // Replaces the element in list with specified element
@@ -105,18 +218,312 @@ public class MyArrayList<E> implements Iterable<E> {
     return temp;
   }
 
+  // Grows the array, if needed, so it holds at least minCapacity elements without growing again
+  public void ensureCapacity(int minCapacity) {
+    if(minCapacity > array.length)
+      grow(minCapacity);
+  }
+
+  // Shrinks the array to the size of the list
+  public void trimToSize() {
+    if(size < array.length)
+      resize(size);
+  }
+
+  // Sets the range size at or below which parallel operations stop splitting and run sequentially
+  public void setSequentialCutoff(int sequentialCutoff) {
+    if(sequentialCutoff < 1)
+      throw new IllegalArgumentException("Illegal sequential cutoff: " + sequentialCutoff);
+    this.sequentialCutoff = sequentialCutoff;
+  }
+
+  // Sorts the list with a stable parallel merge sort. Ranges up to the sequential cutoff are
+  // sorted with Arrays.sort, then merged pairwise. A null comparator sorts by natural order
+  public void parallelSort(Comparator<? super E> c) {
+    parallelSort(c, ForkJoinPool.commonPool());
+  }
+
+  // Same as parallelSort(c), with the tasks run on pool
+  public void parallelSort(Comparator<? super E> c, ForkJoinPool pool) {
+    checkPool(pool);
+    final Comparator<? super E> cmp = (c != null) ? c : (Comparator<? super E>) Comparator.naturalOrder();
+    final int expectedModCount = modCount;
+    if(size > 1) {
+      E[] tmp = (E[]) new Object[size];
+      pool.invoke(new SortTask<>(array, tmp, 0, size, cmp, sequentialCutoff));
+    }
+    checkForComodification(expectedModCount);
+    modCount++;
+  }
+
+  // Performs action on every element, with ranges of the list processed in parallel.
+  // The action is called concurrently from several threads, in no particular order
+  public void parallelForEach(Consumer<? super E> action) {
+    parallelForEach(action, ForkJoinPool.commonPool());
+  }
+
+  // Same as parallelForEach(action), with the tasks run on pool
+  public void parallelForEach(Consumer<? super E> action, ForkJoinPool pool) {
+    checkPool(pool);
+    if(action == null)
+      throw new IllegalArgumentException("Null action");
+    final int expectedModCount = modCount;
+    pool.invoke(new ForEachTask<>(array, 0, size, action, sequentialCutoff));
+    checkForComodification(expectedModCount);
+  }
+
+  // Reduces the elements in parallel. Every range is folded from identity with accumulator,
+  // and the range results are merged with combiner, which must be associative
+  public <R> R parallelReduce(R identity, BiFunction<R, ? super E, R> accumulator, BinaryOperator<R> combiner) {
+    return parallelReduce(identity, accumulator, combiner, ForkJoinPool.commonPool());
+  }
+
+  // Same as parallelReduce(identity, accumulator, combiner), with the tasks run on pool
+  public <R> R parallelReduce(R identity, BiFunction<R, ? super E, R> accumulator, BinaryOperator<R> combiner,
+      ForkJoinPool pool) {
+    checkPool(pool);
+    if(accumulator == null || combiner == null)
+      throw new IllegalArgumentException("Null function");
+    final int expectedModCount = modCount;
+    R result = pool.invoke(new ReduceTask<>(array, 0, size, identity, accumulator, combiner, sequentialCutoff));
+    checkForComodification(expectedModCount);
+    return result;
+  }
+
+  public E parallelReduce(E identity, BinaryOperator<E> op) {
+    return parallelReduce(identity, op, op);
+  }
+
+  public E parallelReduce(E identity, BinaryOperator<E> op, ForkJoinPool pool) {
+    return parallelReduce(identity, op, op, pool);
+  }
+
+  // Returns a late-binding, fail-fast Spliterator that splits the array into halves
+  @Override
+  public Spliterator<E> spliterator() {
+    return new ArraySpliterator(0, -1, 0);
+  }
+
+  public Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  // Parallel streams run in the pool of the thread that starts the terminal operation. To use
+  // another pool, start it from a task in that pool, e.g. pool.submit(() -> ...).get()
+  public Stream<E> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
   // Checks if index is between 0 to n-1;
   protected void checkIndex(int i, int n) {
     if( i<0 || i>= n)
       throw new IndexOutOfBoundsException("Illegal index: "+ i);
   }
 
+  private static void checkPool(ForkJoinPool pool) {
+    if(pool == null)
+      throw new IllegalArgumentException("Null pool");
+  }
+
+  // Returns the backing array itself, whose first size() slots are the elements
+  Object[] elementData() {
+    return array;
+  }
+
   protected void resize(int capacity) {
-    E[] temp = (E[]) new Object[capacity];
-    for(int i=0; i<array.length; i++) {
-      temp[i] = array[i];
+    array = Arrays.copyOf(array, capacity);
+  }
+
+  // Grows the array by the growth factor, or to minCapacity if that is larger
+  private void grow(int minCapacity) {
+    if(minCapacity < 0 || minCapacity > MAX_ARRAY_LENGTH)
+      throw new OutOfMemoryError("Required array length " + minCapacity + " is too large");
+    long grown = (long) (array.length * growthFactor);
+    int capacity = (int) Math.min(MAX_ARRAY_LENGTH, Math.max(grown, Math.max(minCapacity, CAPACITY)));
+    resize(capacity);
+  }
+
+  private void checkForComodification(int expectedModCount) {
+    if(modCount != expectedModCount)
+      throw new ConcurrentModificationException();
+  }
+
+  // Shifts the elements after i one step to the left
+  private void fastRemove(int i) {
+    System.arraycopy(array, i + 1, array, i, size - i - 1);
+    array[--size] = null;
+    modCount++;
+  }
+
+  // Copies the first n elements of src into position index with a single shift
+  private boolean insertAll(int index, Object[] src, int n) {
+    if(n == 0)
+      return false;
+    if(src == array)  // adding the list to itself
+      src = Arrays.copyOf(src, n);
+    if(size + n > array.length)
+      grow(size + n);
+    System.arraycopy(array, index, array, index + n, size - index);
+    System.arraycopy(src, 0, array, index, n);
+    size += n;
+    modCount++;
+    return true;
+  }
+
+  // Cuts the list to its first newSize elements
+  private boolean truncate(int newSize) {
+    if(newSize == size)
+      return false;
+    Arrays.fill(array, newSize, size, null);
+    size = newSize;
+    modCount++;
+    return true;
+  }
+
+  // Sorts a[lo..hi) by sorting both halves in parallel, then merging them through tmp
+  @SuppressWarnings("serial") // tasks are never serialized
+  private static final class SortTask<E> extends RecursiveAction {
+    private final E[] a, tmp;
+    private final int lo, hi, cutoff;
+    private final Comparator<? super E> c;
+
+    SortTask(E[] a, E[] tmp, int lo, int hi, Comparator<? super E> c, int cutoff) {
+      this.a = a; this.tmp = tmp; this.lo = lo; this.hi = hi; this.c = c; this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo <= cutoff) {
+        Arrays.sort(a, lo, hi, c);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new SortTask<>(a, tmp, lo, mid, c, cutoff), new SortTask<>(a, tmp, mid, hi, c, cutoff));
+      if(c.compare(a[mid - 1], a[mid]) <= 0)
+        return; // already in order
+      System.arraycopy(a, lo, tmp, lo, mid - lo);
+      int i = lo, j = mid, k = lo;
+      while(i < mid && j < hi)
+        a[k++] = (c.compare(a[j], tmp[i]) < 0) ? a[j++] : tmp[i++];
+      while(i < mid)
+        a[k++] = tmp[i++];
+    }
+  }
+
+  @SuppressWarnings("serial") // tasks are never serialized
+  private static final class ForEachTask<E> extends RecursiveAction {
+    private final E[] a;
+    private final int lo, hi, cutoff;
+    private final Consumer<? super E> action;
+
+    ForEachTask(E[] a, int lo, int hi, Consumer<? super E> action, int cutoff) {
+      this.a = a; this.lo = lo; this.hi = hi; this.action = action; this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo <= cutoff) {
+        for(int i=lo; i<hi; i++)
+          action.accept(a[i]);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new ForEachTask<>(a, lo, mid, action, cutoff), new ForEachTask<>(a, mid, hi, action, cutoff));
+    }
+  }
+
+  @SuppressWarnings("serial") // tasks are never serialized
+  private static final class ReduceTask<E,R> extends RecursiveTask<R> {
+    private final E[] a;
+    private final int lo, hi, cutoff;
+    private final R identity;
+    private final BiFunction<R, ? super E, R> accumulator;
+    private final BinaryOperator<R> combiner;
+
+    ReduceTask(E[] a, int lo, int hi, R identity, BiFunction<R, ? super E, R> accumulator,
+        BinaryOperator<R> combiner, int cutoff) {
+      this.a = a; this.lo = lo; this.hi = hi; this.identity = identity;
+      this.accumulator = accumulator; this.combiner = combiner; this.cutoff = cutoff;
+    }
+
+    @Override
+    protected R compute() {
+      if(hi - lo <= cutoff) {
+        R r = identity;
+        for(int i=lo; i<hi; i++)
+          r = accumulator.apply(r, a[i]);
+        return r;
+      }
+      int mid = (lo + hi) >>> 1;
+      ReduceTask<E,R> left = new ReduceTask<>(a, lo, mid, identity, accumulator, combiner, cutoff);
+      left.fork();
+      R right = new ReduceTask<>(a, mid, hi, identity, accumulator, combiner, cutoff).compute();
+      return combiner.apply(left.join(), right);
+    }
+  }
+
+  // Spliterator over array[index..fence). The fence is bound on first use
+  private final class ArraySpliterator implements Spliterator<E> {
+    private int index;
+    private int fence; // -1 until first used
+    private int expectedModCount;
+
+    ArraySpliterator(int origin, int fence, int expectedModCount) {
+      this.index = origin;
+      this.fence = fence;
+      this.expectedModCount = expectedModCount;
+    }
+
+    private int getFence() {
+      int hi;
+      if((hi = fence) < 0) {
+        expectedModCount = modCount;
+        hi = fence = size;
+      }
+      return hi;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+      return (lo >= mid) ? null : new ArraySpliterator(lo, index = mid, expectedModCount);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+      if(action == null)
+        throw new NullPointerException();
+      int hi = getFence(), i = index;
+      if(i < hi) {
+        index = i + 1;
+        action.accept(array[i]);
+        checkForComodification(expectedModCount);
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+      if(action == null)
+        throw new NullPointerException();
+      final E[] a = array;
+      int hi = getFence();
+      for(int i=index; i<hi; i++)
+        action.accept(a[i]);
+      index = hi;
+      checkForComodification(expectedModCount);
+    }
+
+    @Override
+    public long estimateSize() {
+      return getFence() - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
     }
-    array = temp;
   }
 
   @Override
@@ -131,6 +538,8 @@ public class MyArrayList<E> implements Iterable<E> {
 
       @Override
       public E next() {
+        if(index >= size)
+          throw new java.util.NoSuchElementException();
         return array[index++];
       }
 
@@ -151,4 +560,4 @@ public class MyArrayList<E> implements Iterable<E> {
     }
   }
 
-}
\ No newline at end of file
+}
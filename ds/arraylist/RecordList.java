@@ -0,0 +1,389 @@
+package ds.arraylist;
+/**
+ * Off-heap list of fixed-width records.
+ * Every record is recordSize bytes, laid out by the caller as fields at fixed byte offsets.
+ * Records are packed in ByteBuffer segments of 2^k records, so no record straddles two
+ * segments and the record at index i is found with a shift and a mask.
+ *
+ * The segments are either direct buffers (allocateDirect) or regions of a memory-mapped
+ * file (create/open). Either way the data lives outside the Java heap: the garbage
+ * collector never scans it and the list can grow past the heap size. Fields are read and
+ * written in place through the typed accessors or a reusable Record flyweight, so reading
+ * a record allocates nothing.
+ *
+ * writeTo() hands the segments straight to a FileChannel, and readFrom() reads a file back
+ * into direct segments. A mapped list is its own file and only needs force().
+ *
+ * File layout: a HEADER_SIZE byte header followed by size records of recordSize bytes.
+ * Not thread-safe.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class RecordList implements Closeable {
+
+  private static final int MAGIC = 0x524C5354;     // "RLST"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 64;
+  private static final int SEGMENT_BYTES = 1 << 22; // Default segment size, 4MB
+
+  // Header offsets
+  private static final int MAGIC_OFFSET = 0;
+  private static final int VERSION_OFFSET = 4;
+  private static final int RECORD_SIZE_OFFSET = 8;
+  private static final int SEGMENT_SHIFT_OFFSET = 12;
+  private static final int SIZE_OFFSET = 16;
+
+  // class variables
+  private final int recordSize;
+  private final int segmentShift;  // log2 of the records per segment
+  private final int segmentMask;
+  private ByteBuffer[] segments = new ByteBuffer[0];
+  private long size = 0;
+  private final FileChannel channel; // null for a direct list
+  private final MappedByteBuffer header; // null for a direct list
+  private final byte[] zeros;
+
+  private RecordList(int recordSize, int segmentShift, FileChannel channel, MappedByteBuffer header) {
+    this.recordSize = recordSize;
+    this.segmentShift = segmentShift;
+    this.segmentMask = (1 << segmentShift) - 1;
+    this.channel = channel;
+    this.header = header;
+    this.zeros = new byte[recordSize];
+  }
+
+  // FACTORY METHODS
+
+  // Creates an empty list in direct buffers, with segments of about 4MB
+  public static RecordList allocateDirect(int recordSize) {
+    return allocateDirect(recordSize, SEGMENT_BYTES);
+  }
+
+  // segmentBytes : upper bound of the size of each direct buffer
+  public static RecordList allocateDirect(int recordSize, int segmentBytes) {
+    return new RecordList(recordSize, segmentShift(recordSize, segmentBytes), null, null);
+  }
+
+  // Creates a new list file at path, replacing any existing file
+  public static RecordList create(Path path, int recordSize) throws IOException {
+    int shift = segmentShift(recordSize, SEGMENT_BYTES);
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+      header.putInt(MAGIC_OFFSET, MAGIC);
+      header.putInt(VERSION_OFFSET, VERSION);
+      header.putInt(RECORD_SIZE_OFFSET, recordSize);
+      header.putInt(SEGMENT_SHIFT_OFFSET, shift);
+      header.putLong(SIZE_OFFSET, 0);
+      return new RecordList(recordSize, shift, channel, header);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  // Opens an existing list file. Only the mapping is set up, no record is read
+  public static RecordList open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+      checkHeader(header, path);
+      RecordList list = new RecordList(header.getInt(RECORD_SIZE_OFFSET), header.getInt(SEGMENT_SHIFT_OFFSET), channel, header);
+      long size = header.getLong(SIZE_OFFSET);
+      if(size < 0 || channel.size() < HEADER_SIZE + size * list.recordSize)
+        throw new IOException("Corrupt size: " + size);
+      list.ensureCapacity(size);
+      list.size = size;
+      return list;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  // Reads a file written by writeTo() or a mapped list into a new direct list
+  public static RecordList readFrom(Path path) throws IOException {
+    try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE);
+      while(hdr.hasRemaining())
+        if(in.read(hdr) < 0) throw new IOException("Truncated header: " + path);
+      checkHeader(hdr, path);
+      RecordList list = allocateDirect(hdr.getInt(RECORD_SIZE_OFFSET), SEGMENT_BYTES);
+      long size = hdr.getLong(SIZE_OFFSET);
+      if(size < 0) throw new IOException("Corrupt size: " + size);
+      list.ensureCapacity(size);
+      long remaining = size * list.recordSize;
+      for(int s=0; remaining > 0; s++) {
+        ByteBuffer dst = list.segments[s].duplicate();
+        dst.clear().limit((int) Math.min(dst.capacity(), remaining));
+        remaining -= dst.remaining();
+        while(dst.hasRemaining())
+          if(in.read(dst) < 0) throw new IOException("Truncated list: " + path);
+      }
+      list.size = size;
+      return list;
+    }
+  }
+
+  // Methods
+
+  // Appends a zero-filled record
+  // Returns the index of the new record
+  public long append() {
+    long index = size;
+    ensureCapacity(index + 1);
+    ByteBuffer seg = segments[(int) (index >>> segmentShift)];
+    seg.put(base(index), zeros, 0, recordSize);
+    setSize(index + 1);
+    return index;
+  }
+
+  // Appends a record copied from src[0..recordSize)
+  public long append(byte[] src) {
+    checkSource(src);
+    long index = size;
+    ensureCapacity(index + 1);
+    segments[(int) (index >>> segmentShift)].put(base(index), src, 0, recordSize);
+    setSize(index + 1);
+    return index;
+  }
+
+  // Copies the record at index into dst[0..recordSize)
+  public void get(long index, byte[] dst) {
+    checkIndex(index);
+    if(dst.length < recordSize)
+      throw new IllegalArgumentException("Destination must be " + recordSize + " bytes");
+    segment(index).get(base(index), dst, 0, recordSize);
+  }
+
+  // Overwrites the record at index with src[0..recordSize)
+  public void set(long index, byte[] src) {
+    checkIndex(index);
+    checkSource(src);
+    segment(index).put(base(index), src, 0, recordSize);
+  }
+
+  // Typed field accessors. offset is the byte offset of the field inside the record
+
+  public byte getByte(long index, int offset) { return segment(index).get(field(index, offset, 1)); }
+  public void putByte(long index, int offset, byte v) { segment(index).put(field(index, offset, 1), v); }
+
+  public short getShort(long index, int offset) { return segment(index).getShort(field(index, offset, 2)); }
+  public void putShort(long index, int offset, short v) { segment(index).putShort(field(index, offset, 2), v); }
+
+  public int getInt(long index, int offset) { return segment(index).getInt(field(index, offset, 4)); }
+  public void putInt(long index, int offset, int v) { segment(index).putInt(field(index, offset, 4), v); }
+
+  public long getLong(long index, int offset) { return segment(index).getLong(field(index, offset, 8)); }
+  public void putLong(long index, int offset, long v) { segment(index).putLong(field(index, offset, 8), v); }
+
+  public float getFloat(long index, int offset) { return segment(index).getFloat(field(index, offset, 4)); }
+  public void putFloat(long index, int offset, float v) { segment(index).putFloat(field(index, offset, 4), v); }
+
+  public double getDouble(long index, int offset) { return segment(index).getDouble(field(index, offset, 8)); }
+  public void putDouble(long index, int offset, double v) { segment(index).putDouble(field(index, offset, 8), v); }
+
+  // Returns a flyweight positioned on the record at index
+  public Record record(long index) {
+    return new Record().moveTo(index);
+  }
+
+  // Removes the last record
+  public void removeLast() {
+    if(size == 0)
+      throw new java.util.NoSuchElementException();
+    setSize(size - 1);
+  }
+
+  // Removes all records. The segments are kept
+  public void clear() {
+    setSize(0);
+  }
+
+  // Returns number of records in the list
+  public long size() { return size; }
+
+  public boolean isEmpty() { return size == 0; }
+
+  public int recordSize() { return recordSize; }
+
+  // Returns the number of records the allocated segments hold
+  public long capacity() { return (long) segments.length << segmentShift; }
+
+  // Allocates or maps segments, if needed, so the list holds minCapacity records
+  public void ensureCapacity(long minCapacity) {
+    int needed = (int) ((minCapacity + segmentMask) >>> segmentShift);
+    if(needed <= segments.length)
+      return;
+    int n = segments.length;
+    segments = Arrays.copyOf(segments, needed);
+    try {
+      for(int s=n; s<needed; s++)
+        segments[s] = newSegment(s);
+    } catch (IOException e) {
+      segments = Arrays.copyOf(segments, n);
+      throw new java.io.UncheckedIOException(e);
+    }
+  }
+
+  // Writes the records to a new file at path, with the same layout as a mapped list.
+  // The segments are passed to the channel as they are, without copying them on the heap
+  public void writeTo(Path path) throws IOException {
+    try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE);
+      hdr.putInt(MAGIC_OFFSET, MAGIC).putInt(VERSION_OFFSET, VERSION).putInt(RECORD_SIZE_OFFSET, recordSize)
+          .putInt(SEGMENT_SHIFT_OFFSET, segmentShift).putLong(SIZE_OFFSET, size);
+      while(hdr.hasRemaining())
+        out.write(hdr);
+      long remaining = size * recordSize;
+      for(int s=0; remaining > 0; s++) {
+        ByteBuffer src = segments[s].duplicate();
+        src.clear().limit((int) Math.min(src.capacity(), remaining));
+        remaining -= src.remaining();
+        while(src.hasRemaining())
+          out.write(src);
+      }
+    }
+  }
+
+  // Flushes a mapped list to its file. Does nothing for a direct list
+  public void force() {
+    if(header == null)
+      return;
+    header.force();
+    for(ByteBuffer segment : segments)
+      ((MappedByteBuffer) segment).force();
+  }
+
+  // Flushes and closes a mapped list, or drops the segments of a direct list.
+  // The list must not be used afterwards
+  @Override
+  public void close() throws IOException {
+    force();
+    segments = new ByteBuffer[0];
+    size = 0;
+    if(channel != null)
+      channel.close();
+  }
+
+  // Flyweight view of one record. moveTo() repositions it, so one Record can walk the whole
+  // list without allocating
+  public final class Record {
+    private ByteBuffer seg;
+    private int base;
+    private long index = -1;
+
+    private Record() { }
+
+    public Record moveTo(long index) {
+      checkIndex(index);
+      this.seg = segments[(int) (index >>> segmentShift)];
+      this.base = base(index);
+      this.index = index;
+      return this;
+    }
+
+    public long index() { return index; }
+
+    public byte getByte(int offset) { return seg.get(at(offset, 1)); }
+    public Record putByte(int offset, byte v) { seg.put(at(offset, 1), v); return this; }
+
+    public short getShort(int offset) { return seg.getShort(at(offset, 2)); }
+    public Record putShort(int offset, short v) { seg.putShort(at(offset, 2), v); return this; }
+
+    public int getInt(int offset) { return seg.getInt(at(offset, 4)); }
+    public Record putInt(int offset, int v) { seg.putInt(at(offset, 4), v); return this; }
+
+    public long getLong(int offset) { return seg.getLong(at(offset, 8)); }
+    public Record putLong(int offset, long v) { seg.putLong(at(offset, 8), v); return this; }
+
+    public float getFloat(int offset) { return seg.getFloat(at(offset, 4)); }
+    public Record putFloat(int offset, float v) { seg.putFloat(at(offset, 4), v); return this; }
+
+    public double getDouble(int offset) { return seg.getDouble(at(offset, 8)); }
+    public Record putDouble(int offset, double v) { seg.putDouble(at(offset, 8), v); return this; }
+
+    private int at(int offset, int width) {
+      if(seg == null)
+        throw new IllegalStateException("Record not positioned");
+      checkField(offset, width);
+      return base + offset;
+    }
+  }
+
+  // Private helpers
+
+  // Picks the largest power of 2 records that fit in segmentBytes
+  private static int segmentShift(int recordSize, int segmentBytes) {
+    if(recordSize <= 0)
+      throw new IllegalArgumentException("Illegal record size: " + recordSize);
+    if(segmentBytes < recordSize)
+      throw new IllegalArgumentException("Illegal segment size: " + segmentBytes);
+    return 31 - Integer.numberOfLeadingZeros(segmentBytes / recordSize);
+  }
+
+  private static void checkHeader(ByteBuffer header, Path path) throws IOException {
+    if(header.getInt(MAGIC_OFFSET) != MAGIC)
+      throw new IOException("Not a RecordList file: " + path);
+    int version = header.getInt(VERSION_OFFSET);
+    if(version != VERSION)
+      throw new IOException("Unsupported version: " + version);
+    int recordSize = header.getInt(RECORD_SIZE_OFFSET), shift = header.getInt(SEGMENT_SHIFT_OFFSET);
+    if(recordSize <= 0 || shift < 0 || shift > 30 || ((long) recordSize << shift) > Integer.MAX_VALUE)
+      throw new IOException("Corrupt header: " + path);
+  }
+
+  private ByteBuffer newSegment(int s) throws IOException {
+    int bytes = recordSize << segmentShift;
+    if(channel == null)
+      return ByteBuffer.allocateDirect(bytes);
+    return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + ((long) s << segmentShift) * recordSize, bytes);
+  }
+
+  private ByteBuffer segment(long index) {
+    checkIndex(index);
+    return segments[(int) (index >>> segmentShift)];
+  }
+
+  // Byte offset of the record inside its segment
+  private int base(long index) {
+    return ((int) index & segmentMask) * recordSize;
+  }
+
+  private int field(long index, int offset, int width) {
+    checkField(offset, width);
+    return base(index) + offset;
+  }
+
+  private void setSize(long size) {
+    this.size = size;
+    if(header != null)
+      header.putLong(SIZE_OFFSET, size);
+  }
+
+  private void checkIndex(long index) {
+    if(index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Illegal index: " + index);
+  }
+
+  private void checkField(int offset, int width) {
+    if(offset < 0 || offset > recordSize - width)
+      throw new IndexOutOfBoundsException("Illegal field offset: " + offset);
+  }
+
+  private void checkSource(byte[] src) {
+    if(src == null || src.length < recordSize)
+      throw new IllegalArgumentException("Source must be " + recordSize + " bytes");
+  }
+
+}
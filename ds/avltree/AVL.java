@@ -269,7 +269,8 @@ public class AVL<K extends Comparable<K>, V> implements Iterable<V> {
     public java.util.Iterator<V> iterator() {
 
         final int expectedNodeCount = size;
-        final Stack<Node> stack = new Stack<>();
+        // The stack never holds more than one node per level of the tree
+        final Stack<Node> stack = Stack.withCapacity(height(root) + 2);
         stack.push(root);
 
         return new java.util.Iterator<V>() {
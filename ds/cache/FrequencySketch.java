@@ -0,0 +1,114 @@
+package ds.cache;
+
+/**
+ * Count-Min sketch of 4-bit counters estimating how often each key was seen recently,
+ * as used by the TinyLFU admission policy.
+ * Every key maps to one counter in each of 4 rows; its frequency is the smallest of the 4.
+ * Counters are packed 16 to a long. Once sampleSize increments have been recorded all
+ * counters are halved, so old popularity fades out.
+ * The sketch can be grown with ensureCapacity() as the cache fills up, so it does not
+ * have to be sized for the largest number of entries up front.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L; // clears the bit shifted in from the next counter
+
+    private long[] table;
+    private int rowMask;            // each row has rowMask + 1 longs
+    private int sampleSize;
+    private int additions;
+
+    /**
+     * @param maximumSize : number of entries the cache is expected to hold
+     */
+    public FrequencySketch(int maximumSize) {
+        allocate(maximumSize, rowLength(maximumSize));
+    }
+
+    /**
+     * Grows the sketch to suit a cache holding maximumSize entries. The sample size follows
+     * maximumSize; the recorded frequencies are only discarded when the table has to grow.
+     */
+    public void ensureCapacity(int maximumSize) {
+        int rowLength = rowLength(maximumSize);
+        if (rowLength > rowMask + 1) allocate(maximumSize, rowLength);
+        else sampleSize = Math.max(sampleSize, sampleSize(maximumSize));
+    }
+
+    /**
+     * @return the estimated number of recent occurrences of the hash, in [0,15]
+     */
+    public int frequency(int hash) {
+        int min = 15;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long h = mix(hash, row);
+            int shift = counterShift(h);
+            int count = (int) ((table[index(h, row)] >>> shift) & 0xF);
+            if (count < min) min = count;
+        }
+        return min;
+    }
+
+    /**
+     * Records one occurrence of the hash.
+     */
+    public void increment(int hash) {
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long h = mix(hash, row);
+            int i = index(h, row), shift = counterShift(h);
+            if (((table[i] >>> shift) & 0xF) != 0xF) {
+                table[i] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) reset();
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & RESET_MASK;
+        additions >>>= 1;
+    }
+
+    private void allocate(int maximumSize, int rowLength) {
+        table = new long[rowLength * SEEDS.length];
+        rowMask = rowLength - 1;
+        sampleSize = sampleSize(maximumSize);
+        additions = 0;
+    }
+
+    /**
+     * @return the number of increments between two halvings, 10 per entry
+     */
+    private static int sampleSize(int maximumSize) {
+        return (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(1, maximumSize));
+    }
+
+    /**
+     * @return the longs per row for maximumSize entries, a power of 2 with at least one counter per entry
+     */
+    private static int rowLength(int maximumSize) {
+        int rowLength = Math.max(1, Integer.highestOneBit(Math.max(1, maximumSize / 16)) << 1);
+        return Math.min(rowLength, 1 << 24);
+    }
+
+    private static long mix(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return h ^ (h >>> 29);
+    }
+
+    private int index(long h, int row) {
+        return row * (rowMask + 1) + ((int) (h >>> 32) & rowMask);
+    }
+
+    private static int counterShift(long h) {
+        return ((int) h & 15) << 2;
+    }
+
+}
@@ -0,0 +1,283 @@
+package ds.cache;
+
+import ds.hashmap.HashMapSC;
+
+/**
+ * Bounded cache with Least Recently Used eviction.
+ * A HashMapSC maps every key to its node in an intrusive doubly linked list ordered
+ * from most to least recently used, so a hit moves its node to the front in O(1)
+ * without searching the list.
+ * Entries are evicted from the back once the total weight of the entries exceeds the
+ * maximum weight. By default every entry weighs 1, which bounds the number of entries.
+ *
+ * With the TinyLFU admission filter enabled, a FrequencySketch estimates how often each
+ * key was requested recently. A new entry that would force evictions is only admitted
+ * if it is requested more often than every entry it would evict, which keeps one-off
+ * keys from flushing popular ones. The sketch starts small and grows with the number of
+ * cached entries, since the maximum weight need not be an entry count.
+ * Null keys and null values are not permitted. Not thread-safe.
+ *
+ * get O(1), put O(1) amortized, remove O(1)
+ */
+public class LRUCache<K,V> {
+    // Nested Node class
+    private static class Node<K,V> {
+        final K key;
+        V value;
+        int weight;
+        Node<K,V> prev, next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+    // End of Nested Node class
+
+    private static final int INITIAL_SKETCH_SIZE = 1 << 10;  // Most entries the admission sketch is first sized for
+
+    // Cache properties
+    private final HashMapSC<K, Node<K,V>> map = new HashMapSC<>(16);
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final FrequencySketch sketch;   // null if the admission filter is disabled
+    private Node<K,V> head, tail;           // most and least recently used
+    private long weightedSize;
+
+    // Statistics
+    private long hitCount, missCount, evictionCount, rejectionCount;
+
+    // CONSTRUCTORS
+
+    /**
+     * Creates a cache holding at most maximumSize entries
+     */
+    public LRUCache(int maximumSize) {
+        this(maximumSize, false);
+    }
+
+    public LRUCache(int maximumSize, boolean admissionFilter) {
+        this(maximumSize, (k, v) -> 1, admissionFilter);
+    }
+
+    /**
+     * @param maximumWeight : largest total weight of the entries
+     * @param weigher : computes the weight of each entry
+     * @param admissionFilter : true to enable the TinyLFU admission filter
+     */
+    public LRUCache(long maximumWeight, Weigher<? super K, ? super V> weigher, boolean admissionFilter) {
+        if (maximumWeight < 0) throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+        if (weigher == null) throw new IllegalArgumentException("Null weigher");
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.sketch = admissionFilter ? new FrequencySketch((int) Math.min(maximumWeight, INITIAL_SKETCH_SIZE)) : null;
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Returns the value mapped to the key and marks it as most recently used.
+     * @return the value, or null if the key is not cached
+     */
+    public V get(K key) {
+        if (key == null) return null;
+        if (sketch != null) sketch.increment(key.hashCode());
+        Node<K,V> node = map.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        moveToFront(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the value mapped to the key without touching its recency or the statistics.
+     */
+    public V peek(K key) {
+        if (key == null) return null;
+        Node<K,V> node = map.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Caches the value under the key and marks it as most recently used.
+     * The entry is not cached if it weighs more than the maximum weight, or if the
+     * admission filter rejects it.
+     * @return the previous value, or null if the key was not cached
+     */
+    public V put(K key, V value) {
+        if (key == null) throw new IllegalArgumentException("Null key");
+        if (value == null) throw new IllegalArgumentException("Null value");
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) throw new IllegalArgumentException("Negative weight: " + weight);
+        if (sketch != null) sketch.increment(key.hashCode());
+
+        Node<K,V> node = map.get(key);
+        if (node != null) {
+            V oldval = node.value;
+            node.value = value;
+            weightedSize += weight - node.weight;
+            node.weight = weight;
+            moveToFront(node);
+            evict();
+            return oldval;
+        }
+
+        if (weight > maximumWeight) return null;
+        if (sketch != null && weightedSize + weight > maximumWeight && !admit(key, weight)) {
+            rejectionCount++;
+            return null;
+        }
+        node = new Node<>(key, value, weight);
+        map.put(key, node);
+        if (sketch != null) sketch.ensureCapacity(map.size());
+        linkFirst(node);
+        weightedSize += weight;
+        evict();
+        return null;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     * @return the value of the removed entry, else null
+     */
+    public V remove(K key) {
+        if (key == null) return null;
+        Node<K,V> node = map.remove(key);
+        if (node == null) return null;
+        unlink(node);
+        weightedSize -= node.weight;
+        return node.value;
+    }
+
+    /**
+     * @return True if the key is cached. Does not touch its recency or the statistics.
+     */
+    public boolean containsKey(K key) {
+        return key != null && map.containsKey(key);
+    }
+
+    /**
+     * Removes all entries. The statistics are kept.
+     */
+    public void clear() {
+        for (Node<K,V> x = head; x != null; ) {
+            Node<K,V> next = x.next;
+            x.prev = x.next = null;
+            x = next;
+        }
+        head = tail = null;
+        map.clear();
+        weightedSize = 0;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * @return the total weight of the cached entries
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public long hitCount() { return hitCount; }
+
+    public long missCount() { return missCount; }
+
+    public long evictionCount() { return evictionCount; }
+
+    /**
+     * @return the number of new entries turned away by the admission filter
+     */
+    public long rejectionCount() { return rejectionCount; }
+
+    /**
+     * @return hits divided by requests, or 1 if there were no requests
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return the entries from most to least recently used
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Node<K,V> x = head; x != null; x = x.next) sb.append(x.key).append(':').append(x.value).append(' ');
+        return sb.toString();
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * TinyLFU admission. Walks the entries that would have to be evicted to make room
+     * and admits the candidate only if it is more popular than each of them.
+     */
+    private boolean admit(K key, int weight) {
+        int candidateFrequency = sketch.frequency(key.hashCode());
+        long excess = weightedSize + weight - maximumWeight;
+        for (Node<K,V> victim = tail; victim != null && excess > 0; victim = victim.prev) {
+            if (sketch.frequency(victim.key.hashCode()) >= candidateFrequency) return false;
+            excess -= victim.weight;
+        }
+        return true;
+    }
+
+    /**
+     * Evicts least recently used entries until the total weight fits.
+     */
+    private void evict() {
+        while (weightedSize > maximumWeight && tail != null) {
+            Node<K,V> victim = tail;
+            unlink(victim);
+            map.remove(victim.key);
+            weightedSize -= victim.weight;
+            evictionCount++;
+        }
+    }
+
+    private void linkFirst(Node<K,V> node) {
+        node.prev = null;
+        node.next = head;
+        if (head == null)
+            tail = node;
+        else
+            head.prev = node;
+        head = node;
+    }
+
+    private void unlink(Node<K,V> node) {
+        Node<K,V> prev = node.prev, next = node.next;
+        if (prev == null)
+            head = next;
+        else
+            prev.next = next;
+        if (next == null)
+            tail = prev;
+        else
+            next.prev = prev;
+        node.prev = node.next = null;
+    }
+
+    private void moveToFront(Node<K,V> node) {
+        if (node == head) return;
+        unlink(node);
+        linkFirst(node);
+    }
+
+}
@@ -0,0 +1,14 @@
+package ds.cache;
+
+/**
+ * Computes the weight of a cache entry. LRUCache evicts entries once the total
+ * weight of its entries exceeds the maximum weight.
+ */
+@FunctionalInterface
+public interface Weigher<K,V> {
+
+    /**
+     * @return the non-negative weight of the entry
+     */
+    int weigh(K key, V value);
+}
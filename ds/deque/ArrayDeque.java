@@ -0,0 +1,266 @@
+package ds.deque;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Circular buffer implementation of a double ended queue.
+ * The elements sit in a power-of-two array between head (inclusive) and tail (exclusive),
+ * wrapping around its end, so both ends are reached with an index and a mask. Adding and
+ * removing at either end touches a single slot and allocates nothing until the array is
+ * full, when it doubles. Works as a queue (addLast/pollFirst) or a stack (push/pop).
+ *
+ * Null elements are not permitted, since pollFirst/pollLast return null on an empty deque.
+ *
+ * addFirst/addLast O(1) amortized, pollFirst/pollLast/peek/get O(1)
+ */
+@SuppressWarnings("unchecked")
+public class ArrayDeque<E> implements Iterable<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Deque properties
+    private Object[] elements;  // length is always a power of 2
+    private int head;           // index of the first element
+    private int tail;           // index after the last element
+    private int size;
+    private int modCount;
+
+    public ArrayDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity : number of elements the deque holds before it has to grow
+     */
+    public ArrayDeque(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        elements = new Object[tableSizeFor(capacity)];
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Inserts the specified element at the front of the deque
+     */
+    public void addFirst(E e) {
+        if (e == null) throw new IllegalArgumentException("Null element");
+        if (size == elements.length) grow();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = e;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Inserts the specified element at the end of the deque
+     */
+    public void addLast(E e) {
+        if (e == null) throw new IllegalArgumentException("Null element");
+        if (size == elements.length) grow();
+        elements[tail] = e;
+        tail = (tail + 1) & (elements.length - 1);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the first element
+     * @return the first element, or null if the deque is empty
+     */
+    public E pollFirst() {
+        if (size == 0) return null;
+        final Object[] es = elements;
+        E e = (E) es[head];
+        es[head] = null;
+        head = (head + 1) & (es.length - 1);
+        size--;
+        modCount++;
+        return e;
+    }
+
+    /**
+     * Removes the last element
+     * @return the last element, or null if the deque is empty
+     */
+    public E pollLast() {
+        if (size == 0) return null;
+        final Object[] es = elements;
+        tail = (tail - 1) & (es.length - 1);
+        E e = (E) es[tail];
+        es[tail] = null;
+        size--;
+        modCount++;
+        return e;
+    }
+
+    /**
+     * Removes the first element
+     * @return the first element
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public E removeFirst() {
+        if (size == 0) throw new NoSuchElementException();
+        return pollFirst();
+    }
+
+    /**
+     * Removes the last element
+     * @return the last element
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public E removeLast() {
+        if (size == 0) throw new NoSuchElementException();
+        return pollLast();
+    }
+
+    /**
+     * @return the first element, or null if the deque is empty
+     */
+    public E peekFirst() {
+        return (E) elements[head];
+    }
+
+    /**
+     * @return the last element, or null if the deque is empty
+     */
+    public E peekLast() {
+        return (E) elements[(tail - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * @return the first element, or null if the deque is empty
+     */
+    public E peek() {
+        return peekFirst();
+    }
+
+    /**
+     * Pushes an element on the front of the deque, used as a stack
+     */
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    /**
+     * Pops the element at the front of the deque, used as a stack
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public E pop() {
+        return removeFirst();
+    }
+
+    /**
+     * @return the element at the specified position, counted from the first element
+     * @throws IndexOutOfBoundsException
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
+        return (E) elements[(head + index) & (elements.length - 1)];
+    }
+
+    /**
+     * @return true if the deque contains the specified element
+     */
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        final Object[] es = elements;
+        final int mask = es.length - 1;
+        for (int i = 0, j = head; i < size; i++, j = (j + 1) & mask) {
+            if (o.equals(es[j])) return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements. The array is kept.
+     */
+    public void clear() {
+        final Object[] es = elements;
+        final int mask = es.length - 1;
+        for (int i = 0, j = head; i < size; i++, j = (j + 1) & mask) es[j] = null;
+        head = tail = size = 0;
+        modCount++;
+    }
+
+    /**
+     * @return the elements from first to last
+     */
+    public Object[] toArray() {
+        Object[] a = new Object[size];
+        copyTo(a);
+        return a;
+    }
+
+    /**
+     * Iterates from the first element to the last
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return (E) elements[(head + index++) & (elements.length - 1)];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Doubles the array, unwrapping the elements so head becomes 0.
+     */
+    private void grow() {
+        final int oldCapacity = elements.length;
+        if (oldCapacity >= MAXIMUM_CAPACITY) throw new IllegalStateException("Deque too big");
+        Object[] a = new Object[oldCapacity << 1];
+        copyTo(a);
+        elements = a;
+        head = 0;
+        tail = size;
+    }
+
+    /**
+     * Copies the elements in order into the start of a, in at most two arraycopy calls.
+     */
+    private void copyTo(Object[] a) {
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, a, 0, firstPart);
+        System.arraycopy(elements, 0, a, firstPart, size - firstPart);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) return MAXIMUM_CAPACITY;
+        return Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+
+}
@@ -0,0 +1,60 @@
+package ds.hashmap;
+/**
+ * Bucket of HashMapSC. Every bucket links its entries in a chain through Entry.prev and
+ * Entry.next, starting at first(), so the map can walk any bucket without allocating.
+ * A ListBucket searches the chain; a TreeBucket also indexes it with an AVL tree.
+ */
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+interface Bucket<K,V> extends Iterable<Entry<K,V>> {
+
+    /**
+     * @return the entry with the specified key and hash, or null if there is none
+     */
+    Entry<K,V> find(K key, int hash);
+
+    /**
+     * Adds the entry, which must not be in any bucket, to the end of the chain
+     */
+    void insert(Entry<K,V> entry);
+
+    /**
+     * Unlinks this exact entry
+     * @return true if the entry was in the bucket
+     */
+    boolean remove(Entry<K,V> entry);
+
+    /**
+     * @return the number of entries in the bucket
+     */
+    int size();
+
+    /**
+     * @return the first entry of the chain, or null if the bucket is empty
+     */
+    Entry<K,V> first();
+
+    /**
+     * @return an iterator following the chain from first()
+     */
+    @Override
+    default Iterator<Entry<K,V>> iterator() {
+        return new Iterator<Entry<K,V>>() {
+            private Entry<K,V> next = first();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Entry<K,V> next() {
+                if (next == null) throw new NoSuchElementException();
+                Entry<K,V> e = next;
+                next = e.next;
+                return e;
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package ds.hashmap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts keys or values to and from bytes for HashMapSnapshot.
+ */
+public interface Codec<T> {
+
+    /**
+     * Writes value at the position of dst, advancing it past the value.
+     * @throws java.nio.BufferOverflowException if dst has too little room left
+     */
+    void encode(T value, ByteBuffer dst);
+
+    /**
+     * Reads a value from the position of src, advancing it past the value.
+     */
+    T decode(ByteBuffer src);
+
+    Codec<Integer> INTEGER = new Codec<Integer>() {
+        public void encode(Integer value, ByteBuffer dst) { dst.putInt(value); }
+        public Integer decode(ByteBuffer src) { return src.getInt(); }
+    };
+
+    Codec<Long> LONG = new Codec<Long>() {
+        public void encode(Long value, ByteBuffer dst) { dst.putLong(value); }
+        public Long decode(ByteBuffer src) { return src.getLong(); }
+    };
+
+    /**
+     * UTF-8 bytes prefixed by their length.
+     */
+    Codec<String> STRING = new Codec<String>() {
+        public void encode(String value, ByteBuffer dst) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            dst.putInt(bytes.length).put(bytes);
+        }
+        public String decode(ByteBuffer src) {
+            byte[] bytes = new byte[src.getInt()];
+            src.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
@@ -0,0 +1,420 @@
+package ds.hashmap;
+/**
+ * Thread-safe Separate Chaining implementation of the HashMap data structure.
+ * Reads never lock: bins are read with volatile semantics and chains are only
+ * ever changed in ways a concurrent reader can tolerate.
+ * Writers lock the first node of their own bin only, so writers to different bins
+ * never block each other. The size is kept in a LongAdder.
+ * Resizing is cooperative: every thread that runs into a resize claims a range of
+ * bins, moves them to the new table and leaves a forwarding node behind.
+ * Null keys and null values are not permitted.
+ */
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@SuppressWarnings("unchecked")
+public class ConcurrentHashMapSC<K,V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int MOVED = -1;        // hash of forwarding nodes
+    private static final int HASH_BITS = 0x7FFFFFFF;
+    private static final int MIN_TRANSFER_STRIDE = 16;
+
+    // Nested Node class
+    static class Node<K,V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K,V> next;
+
+        Node(int hash, K key, V value, Node<K,V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * @return the node holding key in the chain starting at this node, or null
+         */
+        Node<K,V> find(int h, Object k) {
+            for (Node<K,V> e = this; e != null; e = e.next) {
+                if (e.hash == h && (e.key == k || e.key.equals(k))) return e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Placed at the head of a bin that has been moved to the next table.
+     */
+    static final class ForwardingNode<K,V> extends Node<K,V> {
+        final Resize<K,V> resize;
+
+        ForwardingNode(Resize<K,V> resize) {
+            super(MOVED, null, null, null);
+            this.resize = resize;
+        }
+
+        @Override
+        Node<K,V> find(int h, Object k) {
+            Node<K,V>[] tab = resize.nextTable;
+            for (;;) {
+                Node<K,V> e = tabAt(tab, h & (tab.length - 1));
+                if (e == null) return null;
+                if (e.hash != MOVED) return e.find(h, k);
+                tab = ((ForwardingNode<K,V>) e).resize.nextTable;
+            }
+        }
+    }
+
+    /**
+     * State shared by all threads taking part in one resize.
+     * The next table is only allocated once the thread that installed the Resize has
+     * checked that the table it was created for is still current. Until then nextTable
+     * is null and no thread joins, so a stale Resize never moves a single bin.
+     */
+    static final class Resize<K,V> {
+        final Node<K,V>[] table;
+        volatile Node<K,V>[] nextTable;
+        final AtomicInteger transferIndex;              // bins below this index are still unclaimed
+        final AtomicInteger binsDone = new AtomicInteger();
+        final int stride;
+
+        Resize(Node<K,V>[] table) {
+            this.table = table;
+            this.transferIndex = new AtomicInteger(table.length);
+            int ncpu = Runtime.getRuntime().availableProcessors();
+            this.stride = Math.max(MIN_TRANSFER_STRIDE, (table.length >>> 3) / ncpu);
+        }
+    }
+    // End of nested classes
+
+    private static final VarHandle TAB = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle RESIZE;
+    private static final VarHandle TABLE;
+    static {
+        try {
+            RESIZE = MethodHandles.lookup().findVarHandle(ConcurrentHashMapSC.class, "resize", Resize.class);
+            TABLE = MethodHandles.lookup().findVarHandle(ConcurrentHashMapSC.class, "table", Node[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // HashMap properties
+    private volatile Node<K,V>[] table;
+    private volatile Resize<K,V> resize;        // non-null while a resize is running
+    private volatile int threshold;
+    private final LongAdder size = new LongAdder();
+
+    // CONSTRUCTORS
+
+    public ConcurrentHashMapSC(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        int n = tableSizeFor(capacity + (capacity >>> 1) + 1);
+        table = (Node<K,V>[]) new Node<?,?>[n];
+        threshold = n - (n >>> 2);
+    }
+
+    public ConcurrentHashMapSC() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Associates the specified value with the specified key in the Hash Map
+     * @return the previous value, or null if the key was not present
+     */
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /**
+     * Associates the specified value with the specified key unless the key is already present
+     * @return the current value, or null if the value was inserted
+     */
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or null if key is null. Never locks.
+     */
+    public V get(K key) {
+        if (key == null) return null;
+        int h = spread(key.hashCode());
+        Node<K,V>[] tab = table;
+        Node<K,V> first = tabAt(tab, h & (tab.length - 1));
+        if (first == null) return null;
+        Node<K,V> e = first.find(h, key);
+        return e == null ? null : e.value;
+    }
+
+    /**
+     * @return True if HashMap contains key.
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     * @return the value of the removed entry, else null
+     */
+    public V remove(K key) {
+        if (key == null) return null;
+        int h = spread(key.hashCode());
+        for (Node<K,V>[] tab = table;;) {
+            int i = h & (tab.length - 1);
+            Node<K,V> f = tabAt(tab, i);
+            if (f == null) return null;
+            if (f.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K,V>) f);
+                continue;
+            }
+            synchronized (f) {
+                if (tabAt(tab, i) != f) continue;
+                for (Node<K,V> e = f, pred = null; e != null; pred = e, e = e.next) {
+                    if (e.hash == h && (e.key == key || e.key.equals(key))) {
+                        if (pred == null) setTabAt(tab, i, e.next);
+                        else pred.next = e.next;
+                        size.decrement();
+                        return e.value;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Removes all elements inside the HashMap
+     */
+    public void clear() {
+        for (Node<K,V>[] tab = table; tab != null;) {
+            Node<K,V>[] next = null;
+            for (int i = 0; i < tab.length; i++) {
+                Node<K,V> f = tabAt(tab, i);
+                if (f == null) continue;
+                if (f.hash == MOVED) {
+                    next = helpTransfer((ForwardingNode<K,V>) f);
+                    break;
+                }
+                synchronized (f) {
+                    if (tabAt(tab, i) != f) {
+                        i--;            // bin changed under us, look again
+                        continue;
+                    }
+                    long n = 0;
+                    for (Node<K,V> e = f; e != null; e = e.next) n++;
+                    setTabAt(tab, i, null);
+                    size.add(-n);
+                }
+            }
+            tab = next;
+        }
+    }
+
+    /**
+     * @return the number of entries. Only a snapshot while writers are active.
+     */
+    public int size() {
+        long n = size.sum();
+        return n < 0 ? 0 : n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    public boolean isEmpty() {
+        return size.sum() <= 0;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTable(sb, table);
+        return sb.toString();
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Spreads the high bits downwards and clears the sign bit, which is reserved for MOVED.
+     */
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null) throw new IllegalArgumentException("Null key");
+        if (value == null) throw new IllegalArgumentException("Null value");
+        int h = spread(key.hashCode());
+
+        boolean collided = false;
+        for (Node<K,V>[] tab = table;;) {
+            int i = h & (tab.length - 1);
+            Node<K,V> f = tabAt(tab, i);
+            if (f == null) {
+                if (casTabAt(tab, i, null, new Node<>(h, key, value, null))) break;
+                collided = true;
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K,V>) f);
+            } else {
+                synchronized (f) {
+                    if (tabAt(tab, i) != f) continue;
+                    Node<K,V> e = f;
+                    for (;;) {
+                        if (e.hash == h && (e.key == key || e.key.equals(key))) {
+                            V oldval = e.value;
+                            if (!onlyIfAbsent) e.value = value;
+                            return oldval;
+                        }
+                        if (e.next == null) {
+                            e.next = new Node<>(h, key, value, null);
+                            break;
+                        }
+                        e = e.next;
+                    }
+                }
+                collided = true;
+                break;
+            }
+        }
+        size.increment();
+        // Summing the LongAdder visits every cell, so it is only done when the key collided
+        // with another one. Collisions become common as the load nears the threshold.
+        if (collided && size.sum() >= threshold) tryResize();
+        return null;
+    }
+
+    /**
+     * Starts a resize of the current table, or joins the one already running.
+     */
+    private void tryResize() {
+        Resize<K,V> r = resize;
+        if (r == null) {
+            Node<K,V>[] tab = table;
+            if (tab.length >= MAXIMUM_CAPACITY || size.sum() < threshold) return;
+            r = new Resize<>(tab);
+            if (RESIZE.compareAndSet(this, null, r)) {
+                if (table != tab) {
+                    resize = null;  // another resize finished in between, r is stale
+                    return;
+                }
+                // No other resize can publish a table while r is installed, so r is current
+                r.nextTable = (Node<K,V>[]) new Node<?,?>[tab.length << 1];
+            } else {
+                r = resize;
+                if (r == null) return;
+            }
+        }
+        if (r.nextTable != null) transfer(r);
+    }
+
+    /**
+     * Helps with the resize that moved a bin, then returns the table to retry on.
+     */
+    private Node<K,V>[] helpTransfer(ForwardingNode<K,V> f) {
+        Resize<K,V> r = f.resize;
+        if (resize == r) transfer(r);
+        return r.nextTable;     // non-null, r moved a bin
+    }
+
+    /**
+     * Claims ranges of bins from the resize until none are left, moving each to the
+     * next table. The thread that moves the last bin publishes the new table.
+     */
+    private void transfer(Resize<K,V> r) {
+        final Node<K,V>[] tab = r.table;
+        final Node<K,V>[] nextTab = r.nextTable;
+        final int n = tab.length;
+        final ForwardingNode<K,V> fwd = new ForwardingNode<>(r);
+
+        for (;;) {
+            int hi = r.transferIndex.get();
+            if (hi <= 0) return;
+            int lo = Math.max(0, hi - r.stride);
+            if (!r.transferIndex.compareAndSet(hi, lo)) continue;
+            for (int i = hi - 1; i >= lo; i--) transferBin(tab, nextTab, i, fwd);
+
+            if (r.binsDone.addAndGet(hi - lo) == n) {
+                threshold = (n << 1) - (n >>> 1);
+                if (!TABLE.compareAndSet(this, tab, nextTab))
+                    throw new IllegalStateException("Resize of a table that is no longer current");
+                resize = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Splits bin i into bins i and i+n of the next table. The old chain is copied,
+     * never modified, so readers still walking it are unaffected.
+     */
+    private static <K,V> void transferBin(Node<K,V>[] tab, Node<K,V>[] nextTab, int i, ForwardingNode<K,V> fwd) {
+        final int n = tab.length;
+        for (;;) {
+            Node<K,V> f = tabAt(tab, i);
+            if (f == null) {
+                if (casTabAt(tab, i, null, fwd)) return;
+                continue;
+            }
+            if (f.hash == MOVED) {
+                // Already moved. Only a stale resize could get here, and it must not copy
+                // forwarding nodes into its table as if they were entries
+                throw new IllegalStateException("Bin " + i + " was moved by another resize");
+            }
+            synchronized (f) {
+                if (tabAt(tab, i) != f) continue;
+                Node<K,V> lo = null, hi = null;
+                for (Node<K,V> e = f; e != null; e = e.next) {
+                    if ((e.hash & n) == 0) lo = new Node<>(e.hash, e.key, e.value, lo);
+                    else hi = new Node<>(e.hash, e.key, e.value, hi);
+                }
+                setTabAt(nextTab, i, lo);
+                setTabAt(nextTab, i + n, hi);
+                setTabAt(tab, i, fwd);
+                return;
+            }
+        }
+    }
+
+    private static <K,V> void appendTable(StringBuilder sb, Node<K,V>[] tab) {
+        for (int i = 0; i < tab.length; i++) {
+            Node<K,V> f = tabAt(tab, i);
+            if (f == null) continue;
+            if (f.hash == MOVED) {
+                // Entries of a moved bin are in bins i and i+n of the next table
+                Node<K,V>[] next = ((ForwardingNode<K,V>) f).resize.nextTable;
+                appendChain(sb, tabAt(next, i));
+                appendChain(sb, tabAt(next, i + tab.length));
+            } else {
+                appendChain(sb, f);
+            }
+        }
+    }
+
+    private static <K,V> void appendChain(StringBuilder sb, Node<K,V> e) {
+        for (; e != null && e.hash != MOVED; e = e.next) sb.append(e.key).append(':').append(e.value).append(' ');
+    }
+
+    private static int tableSizeFor(int c) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(1, c) - 1);
+        return n < 1 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    private static <K,V> Node<K,V> tabAt(Node<K,V>[] tab, int i) {
+        return (Node<K,V>) TAB.getVolatile(tab, i);
+    }
+
+    private static <K,V> boolean casTabAt(Node<K,V>[] tab, int i, Node<K,V> c, Node<K,V> v) {
+        return TAB.compareAndSet(tab, i, c, v);
+    }
+
+    private static <K,V> void setTabAt(Node<K,V>[] tab, int i, Node<K,V> v) {
+        TAB.setVolatile(tab, i, v);
+    }
+
+}
@@ -0,0 +1,44 @@
+package ds.hashmap;
+/**
+ * Key-value pair stored in the buckets of HashMapSC. The hash of the key is computed
+ * once, when the entry is created. prev and next link the entry into the chain of the
+ * bucket holding it, so the entries are the nodes of the chain.
+ */
+import java.util.Map;
+import java.util.Objects;
+
+class Entry<K,V> implements Map.Entry<K,V> {
+
+    K key;
+    V value;
+    int hash;
+    Entry<K,V> prev, next;  // neighbours in the chain of its bucket
+
+    public Entry(K key, V value) {
+        this.key = key;
+        this.value = value;
+        this.hash = key.hashCode();
+    }
+
+    public final K getKey() {return key;}
+    public final V getValue() {return value;}
+    public final String toString() {return key + ":" + value + " ";}
+
+    public final V setValue(V newValue) {
+        V oldvalue = value;
+        this.value = newValue;
+        return oldvalue;
+    }
+
+    // Map.Entry contract: equal key and value
+    @Override
+    public final boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof Map.Entry)) return false;
+        Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+        return key.equals(e.getKey()) && Objects.equals(value, e.getValue());
+    }
+
+    @Override
+    public final int hashCode() {return hash ^ Objects.hashCode(value);}
+}
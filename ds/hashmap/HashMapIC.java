@@ -0,0 +1,211 @@
+package ds.hashmap;
+/**
+ * Intrusive Chaining implementation of the HashMap data structure.
+ * Like HashMapSC every bucket holds a chain of entries, but each entry carries its own
+ * next link and the table holds the first entry of the chain directly. A mapping costs
+ * a single object, instead of an Entry, a DLL node and a share of a DLL per bucket.
+ * Removal unlinks the entry during the same scan that finds it.
+ * Capacity is always a power of 2, so the bucket index is a mask instead of a modulo.
+ */
+import java.util.Arrays;
+
+@SuppressWarnings("unchecked")
+public class HashMapIC<K,V> {
+    // Nested Node class
+    static final class Node<K,V> {
+        final int hash;
+        final K key;
+        V value;
+        Node<K,V> next;
+
+        Node(int hash, K key, V value, Node<K,V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        public final String toString() {return key + ":" + value + " ";}
+    }
+    // End of Nested Node class
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // HashMap properties
+    private final double maxLoadFactor;
+    private int threshold, size = 0;
+    private Node<K,V>[] table;
+
+    // CONSTRUCTORS
+
+    public HashMapIC(int capacity, double maxLoadFactor) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (!(maxLoadFactor > 0)) throw new IllegalArgumentException("Illegal load factor: " + maxLoadFactor);
+        this.maxLoadFactor = maxLoadFactor;
+        int n = tableSizeFor(capacity);
+        table = (Node<K,V>[]) new Node<?,?>[n];
+        threshold = (int) (n * maxLoadFactor);
+    }
+
+    public HashMapIC(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public HashMapIC() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Associates the specified value with the specified key in the Hash Map
+     * @return the previous value, or null if the key was not present
+     */
+    public V put(K key, V value) {
+        if (key == null) throw new IllegalArgumentException("Null key");
+        int hash = spread(key.hashCode());
+        int i = hash & (table.length - 1);
+        for (Node<K,V> e = table[i]; e != null; e = e.next) {
+            if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                V oldval = e.value;
+                e.value = value;
+                return oldval;
+            }
+        }
+        table[i] = new Node<>(hash, key, value, table[i]);
+        if (++size > threshold) resizeTable();
+        return null;
+    }
+
+    /**
+     * Removes the entry with the specified key. The entry is unlinked by the scan that finds it.
+     * @return the value of the removed entry, else null
+     */
+    public V remove(K key) {
+        if (key == null) return null;
+        int hash = spread(key.hashCode());
+        int i = hash & (table.length - 1);
+        for (Node<K,V> e = table[i], pred = null; e != null; pred = e, e = e.next) {
+            if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                if (pred == null) table[i] = e.next;
+                else pred.next = e.next;
+                e.next = null;
+                size--;
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or null if key is null
+     */
+    public V get(K key) {
+        Node<K,V> e = getNode(key);
+        return e == null ? null : e.value;
+    }
+
+    /**
+     * @return True if HashMap contains key.
+     */
+    public boolean containsKey(K key) {
+        return getNode(key) != null;
+    }
+
+    /**
+     * Removes all elements inside the HashMap
+     */
+    public void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the values of all entries, in table order
+     */
+    public V[] toArray() {
+        Object[] arr = new Object[size];
+        int n = 0;
+        for (Node<K,V> head : table) {
+            for (Node<K,V> e = head; e != null; e = e.next) arr[n++] = e.value;
+        }
+        return (V[]) arr;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Node<K,V> head : table) {
+            for (Node<K,V> e = head; e != null; e = e.next) sb.append(e.key).append(':').append(e.value).append(' ');
+        }
+        return sb.toString();
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Spreads the high bits of the hashCode downwards, since the mask only keeps the low bits.
+     */
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private Node<K,V> getNode(K key) {
+        if (key == null) return null;
+        int hash = spread(key.hashCode());
+        for (Node<K,V> e = table[hash & (table.length - 1)]; e != null; e = e.next) {
+            if (e.hash == hash && (e.key == key || key.equals(e.key))) return e;
+        }
+        return null;
+    }
+
+    /**
+     * Doubles the table. Each chain splits into the chain at the same index and the one
+     * at index + oldCapacity, decided by a single hash bit, keeping the nodes' order.
+     */
+    private void resizeTable() {
+        final Node<K,V>[] oldTable = table;
+        final int oldCapacity = oldTable.length;
+        if (oldCapacity >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        Node<K,V>[] newTable = (Node<K,V>[]) new Node<?,?>[oldCapacity << 1];
+
+        for (int i = 0; i < oldCapacity; i++) {
+            Node<K,V> loHead = null, loTail = null, hiHead = null, hiTail = null;
+            for (Node<K,V> e = oldTable[i], next; e != null; e = next) {
+                next = e.next;
+                e.next = null;
+                if ((e.hash & oldCapacity) == 0) {
+                    if (loTail == null) loHead = e; else loTail.next = e;
+                    loTail = e;
+                } else {
+                    if (hiTail == null) hiHead = e; else hiTail.next = e;
+                    hiTail = e;
+                }
+            }
+            newTable[i] = loHead;
+            newTable[i + oldCapacity] = hiHead;
+            oldTable[i] = null;     // Help GC
+        }
+
+        table = newTable;
+        threshold = (int) (newTable.length * maxLoadFactor);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) return MAXIMUM_CAPACITY;
+        return Math.max(1, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+
+}
@@ -0,0 +1,303 @@
+package ds.hashmap;
+/**
+ * Open Addressing implementation of the HashMap data structure (SwissTable style).
+ * Keys and values live in two parallel arrays. A separate array of control bytes,
+ * one per slot, holds 7 bits of the hash of a full slot or marks it EMPTY/DELETED.
+ * Control bytes are packed 8 to a long so a probe compares a whole group at once.
+ * Capacity is always a power of 2 and the table is kept at most 7/8 full.
+ */
+import java.util.Arrays;
+
+@SuppressWarnings("unchecked")
+public class HashMapOA<K,V> {
+
+    private static final int GROUP_WIDTH = 8;       // slots per group (bytes in a long)
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Control bytes. A full slot holds h2 in [0x00,0x7F], the high bit marks a free slot.
+    private static final long EMPTY = 0x80L;
+    private static final long DELETED = 0xFEL;
+
+    private static final long LSB = 0x0101010101010101L; // lowest bit of every byte
+    private static final long MSB = 0x8080808080808080L; // highest bit of every byte
+    private static final long ALL_EMPTY = EMPTY * LSB;
+
+    // HashMap properties
+    private long[] ctrl;        // control bytes, GROUP_WIDTH per long
+    private Object[] keys;
+    private Object[] values;
+    private int capacity, size = 0;
+    private int growthLeft;     // EMPTY slots that may still be filled before a rehash
+
+    // CONSTRUCTORS
+
+    public HashMapOA(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        allocate(tableSizeFor(capacity));
+    }
+
+    public HashMapOA() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Associates the specified value with the specified key in the Hash Map
+     * @return the previous value, or null if the key was not present
+     */
+    public V put(K key, V value) {
+        if (key == null) throw new IllegalArgumentException("Null key");
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            V oldval = (V) values[slot];
+            values[slot] = value;
+            return oldval;
+        }
+        insert(key, value, hash);
+        return null;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     * @param key
+     * @return the value of the removed entry, else null
+     */
+    public V remove(K key) {
+        if (key == null) return null;
+        int slot = findSlot(key, hash(key));
+        if (slot < 0) return null;
+        V oldval = (V) values[slot];
+        erase(slot);
+        return oldval;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or null if key is null
+     */
+    public V get(K key) {
+        if (key == null) return null;
+        int slot = findSlot(key, hash(key));
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Returns True if the HashMap contains the key
+     * @param key
+     * @return True if HashMap contains key.
+     */
+    public boolean containsKey(K key) {
+        if (key == null) return false;
+        return findSlot(key, hash(key)) >= 0;
+    }
+
+    /**
+     * Removes all elements inside the HashMap. The capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(ctrl, ALL_EMPTY);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        growthLeft = maxLoad(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of slots allocated, used or not
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V[] toArray() {
+        Object[] arr = new Object[size];
+        int n = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (isFull(i)) arr[n++] = values[i];
+        }
+        return (V[]) arr;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < capacity; i++) {
+            if (isFull(i)) sb.append(keys[i]).append(':').append(values[i]).append(' ');
+        }
+        return sb.toString();
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Scrambles the hashCode so that both the group index (h1, high bits)
+     * and the control byte (h2, low 7 bits) are well distributed.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int h1(int hash) { return hash >>> 7; }
+
+    private static long h2(int hash) { return hash & 0x7F; }
+
+    /**
+     * @return the index of the slot holding key, or -1 if key is absent
+     */
+    private int findSlot(Object key, int hash) {
+        final long[] ctrl = this.ctrl;
+        final Object[] keys = this.keys;
+        final int groupMask = ctrl.length - 1;
+        final long pattern = h2(hash) * LSB;
+        int g = h1(hash) & groupMask;
+
+        for (int step = 1; ; step++) {
+            long group = ctrl[g];
+            for (long m = matchByte(group, pattern); m != 0; m &= m - 1) {
+                int slot = (g << 3) + (Long.numberOfTrailingZeros(m) >>> 3);
+                Object k = keys[slot];
+                if (k == key || key.equals(k)) return slot;
+            }
+            if (matchEmpty(group) != 0) return -1;
+            g = (g + step) & groupMask; // triangular probing visits every group
+        }
+    }
+
+    /**
+     * @return the first EMPTY or DELETED slot on the probe sequence of hash
+     */
+    private int findInsertSlot(int hash) {
+        final int groupMask = ctrl.length - 1;
+        int g = h1(hash) & groupMask;
+        for (int step = 1; ; step++) {
+            long m = ctrl[g] & MSB;
+            if (m != 0) return (g << 3) + (Long.numberOfTrailingZeros(m) >>> 3);
+            g = (g + step) & groupMask;
+        }
+    }
+
+    /**
+     * Inserts a key known not to be in the table
+     */
+    private void insert(Object key, Object value, int hash) {
+        int slot = findInsertSlot(hash);
+        if (growthLeft == 0 && controlByte(slot) == EMPTY) {
+            rehash();
+            slot = findInsertSlot(hash);
+        }
+        if (controlByte(slot) == EMPTY) growthLeft--;
+        setControlByte(slot, h2(hash));
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Frees slot. If its group still has an EMPTY slot no probe ever went past
+     * this group, so the slot can become EMPTY again instead of a tombstone.
+     */
+    private void erase(int slot) {
+        if (matchEmpty(ctrl[slot >>> 3]) != 0) {
+            setControlByte(slot, EMPTY);
+            growthLeft++;
+        } else {
+            setControlByte(slot, DELETED);
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+    }
+
+    /**
+     * Rebuilds the table. Doubles the capacity unless most of the used
+     * slots are tombstones, in which case they are purged at the same size.
+     */
+    private void rehash() {
+        int newCapacity = capacity;
+        if (size > maxLoad(capacity) / 2) {
+            if (capacity == MAXIMUM_CAPACITY) throw new IllegalStateException("HashMap is full");
+            newCapacity = capacity << 1;
+        }
+
+        final long[] oldCtrl = ctrl;
+        final Object[] oldKeys = keys, oldValues = values;
+        final int oldCapacity = capacity;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldCapacity; i++) {
+            if (((oldCtrl[i >>> 3] >>> ((i & 7) << 3)) & 0x80) == 0) {
+                int hash = hash(oldKeys[i]);
+                int slot = findInsertSlot(hash);
+                setControlByte(slot, h2(hash));
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                growthLeft--;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        ctrl = new long[capacity / GROUP_WIDTH];
+        Arrays.fill(ctrl, ALL_EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        growthLeft = maxLoad(capacity);
+    }
+
+    /**
+     * @return smallest power of 2 holding capacity entries under a 7/8 load, at least one group
+     */
+    private static int tableSizeFor(int capacity) {
+        long needed = Math.max(GROUP_WIDTH, ((long) capacity * 8 + 6) / 7);
+        if (needed >= MAXIMUM_CAPACITY) return MAXIMUM_CAPACITY;
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static int maxLoad(int capacity) {
+        return capacity - capacity / 8;
+    }
+
+    // CONTROL BYTE HELPERS
+
+    /**
+     * @return high bit set in every byte of group equal to the pattern byte.
+     * May report a false positive above a true match; callers compare keys anyway.
+     */
+    private static long matchByte(long group, long pattern) {
+        long x = group ^ pattern;
+        return (x - LSB) & ~x & MSB;
+    }
+
+    /**
+     * @return high bit set in every EMPTY byte of group (high bit set, bit 6 clear)
+     */
+    private static long matchEmpty(long group) {
+        return group & (~group << 1) & MSB;
+    }
+
+    private boolean isFull(int slot) {
+        return (controlByte(slot) & 0x80) == 0;
+    }
+
+    private long controlByte(int slot) {
+        return (ctrl[slot >>> 3] >>> ((slot & 7) << 3)) & 0xFF;
+    }
+
+    private void setControlByte(int slot, long b) {
+        int shift = (slot & 7) << 3;
+        int g = slot >>> 3;
+        ctrl[g] = (ctrl[g] & ~(0xFFL << shift)) | (b << shift);
+    }
+
+}
@@ -3,55 +3,71 @@ package ds.hashmap;
  * Separate Chaining implementation of the HashMap data structure.
  */
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import ds.linkedlist.DLL;
-
-class Entry<K,V> {
-
-    K key;
-    V value;
-    int hash;
-
-    public Entry(K key, V value) {
-        this.key = key;
-        this.value = value;
-        this.hash = key.hashCode();
-    }
-
-    public boolean equals(Entry<K,V> o) {
-        if (hash != o.hash) return false;
-        return key.equals(o.key);
-    }
-
-    public final K getKey() {return key;}
-    public final V getValue() {return value;}
-    public final String toString() {return key + ":" + value + " ";}
-
-    public final V setValue(V newValue) {
-        V oldvalue = value;
-        this.value = newValue;
-        return oldvalue;
-    }
-}
 
 @SuppressWarnings("unchecked")
 public class HashMapSC<K,V> {
 
     private static final int DEFAULT_CAPACITY = 3;
     private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int REHASH_BUCKETS_PER_OP = 4; // Non-empty buckets migrated per operation in incremental mode
+    private static final int REHASH_EMPTY_VISITS = 40;  // Empty buckets skipped per operation in incremental mode
+    private static final int TREEIFY_THRESHOLD = 8;     // Chain length above which a bucket becomes a TreeBucket
+    private static final int UNTREEIFY_THRESHOLD = 6;   // Tree size at or below which a TreeBucket becomes a list again
+    private static final int MIN_TREEIFY_CAPACITY = 64; // Smaller tables rely on resizing to shorten chains
 
     // HashMap properties
     private double maxLoadFactor;
     private int capacity, threshold, size = 0;
-    private DLL<Entry<K,V>>[] table;
+    private Bucket<K,V>[] table;
+    private final HashStrategy strategy;   // Maps hash codes to bucket indices
+    private int modCount = 0;   // Structural modifications, checked by cursors and spliterators
+
+    // Incremental resize state. While oldTable is non-null, buckets [rehashIndex, oldTable.length)
+    // of oldTable have not been migrated to table yet.
+    private final boolean incrementalResize;
+    private Bucket<K,V>[] oldTable;
+    private int rehashIndex;
 
     // CONSTRUCTORS
 
-    public HashMapSC(int capacity, double maxLoadFactor) {
+    /**
+     * @param incrementalResize : if true, growing the table keeps the old table alive and
+     * every later operation migrates a few of its buckets, instead of rehashing every entry
+     * on the put that crosses the threshold.
+     */
+    public HashMapSC(int capacity, double maxLoadFactor, boolean incrementalResize) {
+        this(capacity, maxLoadFactor, incrementalResize, HashStrategy.MODULO);
+    }
+
+    /**
+     * @param strategy : maps hash codes to bucket indices and rounds the capacity as it requires
+     */
+    public HashMapSC(int capacity, double maxLoadFactor, boolean incrementalResize, HashStrategy strategy) {
+        if (strategy == null) throw new IllegalArgumentException("Null strategy");
         this.maxLoadFactor = maxLoadFactor;
-        this.capacity = Math.max(DEFAULT_CAPACITY, capacity);
-        threshold = (int) (capacity * maxLoadFactor);
-        table = new DLL[this.capacity]; 
+        this.strategy = strategy;
+        this.capacity = strategy.tableSizeFor(Math.max(DEFAULT_CAPACITY, capacity));
+        this.incrementalResize = incrementalResize;
+        threshold = (int) (this.capacity * maxLoadFactor);
+        table = newTable(this.capacity);
+    }
+
+    public HashMapSC(int capacity, double maxLoadFactor) {
+        this(capacity, maxLoadFactor, false);
+    }
+
+    public HashMapSC(int capacity, HashStrategy strategy) {
+        this(capacity, DEFAULT_LOAD_FACTOR, false, strategy);
     }
 
     public HashMapSC(int capacity){
@@ -69,6 +85,11 @@ public class HashMapSC<K,V> {
      */
     public V put(K key, V value) {
         if (key == null) throw new IllegalArgumentException("Null key");
+        if (oldTable != null) {
+            rehashStep();
+            Entry<K,V> oldEntry = getOldEntry(key);
+            if (oldEntry != null) return oldEntry.setValue(value);
+        }
         Entry<K,V> newEntry = new Entry<K,V>(key, value);
         int bucketIndex = toIndex(newEntry.hash);
         return bucketInsertEntry(bucketIndex, newEntry);
@@ -81,6 +102,16 @@ public class HashMapSC<K,V> {
      */
     public V remove(K key) {
       if (key == null) return null;
+      if (oldTable != null) {
+          rehashStep();
+          Entry<K,V> oldEntry = getOldEntry(key);
+          if (oldEntry != null) {
+              removeFromBucket(oldTable, toIndex(oldEntry.hash, oldTable.length), oldEntry);
+              --size;
+              modCount++;
+              return oldEntry.value;
+          }
+      }
       int bucketIndex = toIndex(key.hashCode());
       return bucketRemoveEntry(bucketIndex, key);
     }
@@ -90,8 +121,10 @@ public class HashMapSC<K,V> {
      */
     public V get(K key) {
         if (key == null) return null;
+        if (oldTable != null) rehashStep();
         int bucketIndex = toIndex(key.hashCode());
         Entry<K,V> entry = getEntry(bucketIndex, key);
+        if (entry == null) entry = getOldEntry(key);
         if (entry != null) return entry.value;
         return null;
     }
@@ -103,7 +136,7 @@ public class HashMapSC<K,V> {
      */
     public boolean containsKey(K key) {
         int bucketIndex = toIndex(key.hashCode());
-        return getEntry(bucketIndex, key) != null;
+        return getEntry(bucketIndex, key) != null || getOldEntry(key) != null;
     }
 
     /**
@@ -111,7 +144,9 @@ public class HashMapSC<K,V> {
      */
     public void clear() {
         Arrays.fill(table, null);
+        oldTable = null;
         size = 0;
+        modCount++;
     }
 
     public int size() {
@@ -122,39 +157,288 @@ public class HashMapSC<K,V> {
         return size == 0;
     }
 
-    public V[] toArray() {
-        Object[] arr = new Object[0];
-        for (int i=0; i<table.length; i++) {
-            if (table[i] != null) {
-                DLL<Entry<K,V>> list = table[i];
-                arr = combine(arr, list.toArray());
-            }
+    // BULK METHODS
+
+    /**
+     * Grows the table once, if needed, so that it holds expectedSize entries without resizing again.
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (oldTable != null) finishRehash();
+        int newCapacity = capacity;
+        while (expectedSize > (int) (newCapacity * maxLoadFactor) && newCapacity <= Integer.MAX_VALUE / 2)
+            newCapacity *= 2;
+        if (newCapacity != capacity) resizeTable(newCapacity);
+    }
+
+    /**
+     * Associates keys[i] with values[i] for every i. The table is sized once up front
+     * and the entries are inserted grouped by bucket.
+     * @throws IllegalArgumentException if the arrays differ in length or a key is null
+     */
+    public void putAll(K[] keys, V[] values) {
+        if (keys.length != values.length) throw new IllegalArgumentException("keys and values differ in length");
+        for (K key : keys) if (key == null) throw new IllegalArgumentException("Null key");
+
+        ensureCapacity(size + keys.length);
+        long[] order = bucketOrder(keys);
+        for (long packed : order) {
+            int i = (int) packed;
+            bucketInsertEntry((int) (packed >>> 32), new Entry<K,V>(keys[i], values[i]));
+        }
+    }
+
+    /**
+     * Writes the value mapped to keys[i] into dst[i], or null where a key has no mapping.
+     * @return the number of keys found
+     */
+    public int getAll(K[] keys, V[] dst) {
+        if (dst.length < keys.length) throw new IllegalArgumentException("dst is shorter than keys");
+        if (oldTable != null) finishRehash();
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            K key = keys[i];
+            Entry<K,V> entry = key == null ? null : getEntry(toIndex(key.hashCode()), key);
+            dst[i] = entry == null ? null : entry.value;
+            if (entry != null) found++;
+        }
+        return found;
+    }
+
+    /**
+     * Removes the entries of all specified keys
+     * @return the number of entries removed
+     */
+    public int removeAll(K[] keys) {
+        if (oldTable != null) finishRehash();
+        int before = size;
+        for (K key : keys) {
+            if (key != null) bucketRemoveEntry(toIndex(key.hashCode()), key);
         }
+        return before - size;
+    }
+
+    /**
+     * @return the values of all entries, in table order
+     */
+    public V[] toArray() {
+        Object[] arr = new Object[size];
+        int n = 0;
+        for (Cursor c = cursor(); c.advance(); ) arr[n++] = c.value();
         return (V[]) arr;
     }
 
     public String toString() {
-        String s = "";
-        for (int i=0; i<table.length; i++) {
-          if (table[i] != null) {
-              for(Entry<K,V> entry : table[i]) {
-                  s += entry.toString();
-                //s += String.join(" ", entry.toString());
-              }
-          }
-      }
-      return s;
+        StringBuilder sb = new StringBuilder();
+        for (Cursor c = cursor(); c.advance(); ) sb.append(c.key()).append(':').append(c.value()).append(' ');
+        return sb.toString();
+    }
+
+    // ITERATION
+
+    /**
+     * Performs the action for every entry, in table order.
+     * @throws ConcurrentModificationException if the map is structurally modified by the action
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Cursor c = cursor(); c.advance(); ) action.accept(c.key(), c.value());
+    }
+
+    /**
+     * @return a cursor positioned before the first entry. Apart from the cursor itself,
+     *         walking the map with it does not allocate, whether buckets are lists or trees.
+     */
+    public Cursor cursor() {
+        if (oldTable != null) finishRehash();
+        return new Cursor();
+    }
+
+    /**
+     * @return a Spliterator over the entries that splits by ranges of the table
+     */
+    public Spliterator<Map.Entry<K,V>> spliterator() {
+        if (oldTable != null) finishRehash();
+        return new TableSpliterator(table, 0, table.length, size);
+    }
+
+    /**
+     * @return a sequential Stream over the entries. Call parallel() to split it by table ranges.
+     */
+    public Stream<Map.Entry<K,V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<Map.Entry<K,V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Forward-only position in the table. advance() moves to the next entry, whose key and
+     * value are then read with key() and value(). The cursor follows the next links of the
+     * bucket chains and only keeps the bucket index and current entry, so every entry is
+     * reached in O(1) and advancing never allocates.
+     */
+    public final class Cursor {
+        private int bucketIndex = -1;
+        private Entry<K,V> current;
+        private int expectedModCount = modCount;
+
+        private Cursor() { }
+
+        /**
+         * Moves to the next entry
+         * @return false if there are no more entries
+         * @throws ConcurrentModificationException if the map was structurally modified
+         */
+        public boolean advance() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            final Bucket<K,V>[] tab = table;
+            if (current != null && current.next != null) {
+                current = current.next;
+                return true;
+            }
+            while (++bucketIndex < tab.length) {
+                Bucket<K,V> bucket = tab[bucketIndex];
+                if (bucket == null) continue;
+                current = bucket.first();
+                return true;
+            }
+            current = null;
+            return false;
+        }
+
+        public K key() {
+            return entry().key;
+        }
+
+        public V value() {
+            return entry().value;
+        }
+
+        /**
+         * Replaces the value of the current entry
+         * @return the previous value
+         */
+        public V setValue(V value) {
+            return entry().setValue(value);
+        }
+
+        /**
+         * Moves the cursor back before the first entry, so it can be reused
+         */
+        public void reset() {
+            if (oldTable != null) finishRehash();
+            bucketIndex = -1;
+            current = null;
+            expectedModCount = modCount;
+        }
+
+        private Entry<K,V> entry() {
+            if (current == null) throw new NoSuchElementException();
+            return current;
+        }
+    }
+
+    /**
+     * Spliterator over buckets [index, fence) of a table. Splitting hands the lower half
+     * of the remaining range to a new spliterator.
+     */
+    private final class TableSpliterator implements Spliterator<Map.Entry<K,V>> {
+        private final Bucket<K,V>[] tab;
+        private int index, fence;
+        private long estimate;
+        private Iterator<Entry<K,V>> bucketIterator;
+        private final int expectedModCount = modCount;
+
+        TableSpliterator(Bucket<K,V>[] tab, int index, int fence, long estimate) {
+            this.tab = tab;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K,V>> trySplit() {
+            if (bucketIterator != null) return null;
+            int lo = index, mid = (lo + fence) >>> 1;
+            if (mid <= lo) return null;
+            index = mid;
+            return new TableSpliterator(tab, lo, mid, estimate >>>= 1);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K,V>> action) {
+            if (action == null) throw new NullPointerException();
+            for (;;) {
+                if (bucketIterator != null) {
+                    if (bucketIterator.hasNext()) {
+                        action.accept(bucketIterator.next());
+                        checkForComodification();
+                        return true;
+                    }
+                    bucketIterator = null;
+                }
+                if (index >= fence) return false;
+                Bucket<K,V> bucket = tab[index++];
+                if (bucket != null) bucketIterator = bucket.iterator();
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K,V>> action) {
+            if (action == null) throw new NullPointerException();
+            if (bucketIterator != null) {
+                while (bucketIterator.hasNext()) action.accept(bucketIterator.next());
+                bucketIterator = null;
+            }
+            for (int i = index; i < fence; i++) {
+                Bucket<K,V> bucket = tab[i];
+                if (bucket != null) {
+                    for (Entry<K,V> e = bucket.first(); e != null; e = e.next) action.accept(e);
+                }
+            }
+            index = fence;
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
     }
 
     // PRIVATE MEHTODS
 
     /**
-     * Removes the sign bit and converts to index.
+     * Converts a hash to an index of the current table, as decided by the HashStrategy.
      * @param hash : The hash value of key
      * @return index in the domain [0,capacity-1]
      */
     private int toIndex(int hash) {
-        return (hash & 0x7FFFFFFF) % table.length;
+        return strategy.index(hash, table.length);
+    }
+
+    private int toIndex(int hash, int length) {
+        return strategy.index(hash, length);
+    }
+
+    /**
+     * Looks up key in the part of oldTable that has not been migrated yet.
+     * @return entry if found, null otherwise or if no incremental resize is in progress
+     */
+    private Entry<K,V> getOldEntry(K key) {
+        if (oldTable == null) return null;
+        int bucketIndex = toIndex(key.hashCode(), oldTable.length);
+        if (bucketIndex < rehashIndex) return null;
+        return findInBucket(oldTable[bucketIndex], key);
     }
 
     /***
@@ -165,10 +449,49 @@ public class HashMapSC<K,V> {
      */
     private Entry<K,V> getEntry(int bucketIndex, K key) {
         if (key == null) return null;
-        DLL<Entry<K,V>> bucket = table[bucketIndex];
+        return findInBucket(table[bucketIndex], key);
+    }
+
+    /**
+     * Searches a bucket for key. Linear for a ListBucket, O(log n) for a TreeBucket.
+     * @return entry if bucket contains key, null otherwise
+     */
+    private Entry<K,V> findInBucket(Bucket<K,V> bucket, K key) {
         if (bucket == null) return null;
-        for(Entry<K,V> entry:bucket) if (entry.key.equals(key)) return entry;
-        return null;
+        return bucket.find(key, key.hashCode());
+    }
+
+    /**
+     * Appends entry to bucket bucketIndex of tab, creating the bucket if needed and
+     * converting it to a TreeBucket once its chain gets longer than TREEIFY_THRESHOLD.
+     */
+    private static <K,V> void addToBucket(Bucket<K,V>[] tab, int bucketIndex, Entry<K,V> entry) {
+        Bucket<K,V> bucket = tab[bucketIndex];
+        if (bucket == null) tab[bucketIndex] = bucket = new ListBucket<>();
+        bucket.insert(entry);
+
+        if (bucket.size() > TREEIFY_THRESHOLD && tab.length >= MIN_TREEIFY_CAPACITY
+                && bucket instanceof ListBucket) {
+            tab[bucketIndex] = new TreeBucket<>((ListBucket<K,V>) bucket);
+        }
+    }
+
+    /**
+     * Unlinks entry from bucket bucketIndex of tab, converting a TreeBucket back
+     * to a list once it holds UNTREEIFY_THRESHOLD entries or fewer and dropping
+     * the bucket once it is empty.
+     * @throws IllegalStateException if the bucket does not hold entry
+     */
+    private static <K,V> void removeFromBucket(Bucket<K,V>[] tab, int bucketIndex, Entry<K,V> entry) {
+        Bucket<K,V> bucket = tab[bucketIndex];
+        if (bucket == null || !bucket.remove(entry))
+            throw new IllegalStateException("Entry missing from its bucket: " + entry.key);
+
+        if (bucket.size() == 0) {
+            tab[bucketIndex] = null;
+        } else if (bucket instanceof TreeBucket && bucket.size() <= UNTREEIFY_THRESHOLD) {
+            tab[bucketIndex] = ((TreeBucket<K,V>) bucket).untreeify();
+        }
     }
 
     /**
@@ -178,13 +501,14 @@ public class HashMapSC<K,V> {
      * @return null if entry is inserted, else returns the previous value
      */
     private V bucketInsertEntry(int bucketIndex, Entry<K,V> entry) {
-        DLL<Entry<K,V>> bucket = table[bucketIndex];
-        if (bucket == null) table[bucketIndex] = bucket = new DLL<>();
-
         Entry<K,V> existentEntry = getEntry(bucketIndex, entry.key);
         if (existentEntry == null) {
-            bucket.add(entry);
-            if (++size > threshold) resizeTable();
+            addToBucket(table, bucketIndex, entry);
+            modCount++;
+            if (++size > threshold) {
+                if (incrementalResize) startIncrementalResize();
+                else resizeTable();
+            }
             return null;
         } else {
             V oldval = existentEntry.getValue();
@@ -193,31 +517,94 @@ public class HashMapSC<K,V> {
         }
     }
 
+    /**
+     * @return an empty table of the specified length
+     */
+    @SuppressWarnings("unchecked")
+    private static <K,V> Bucket<K,V>[] newTable(int length) {
+        return (Bucket<K,V>[]) new Bucket<?,?>[length];
+    }
+
     private void resizeTable() {
-        capacity *= 2;
+        resizeTable(capacity * 2);
+    }
+
+    private void resizeTable(int newCapacity) {
+        modCount++;
+        capacity = newCapacity;
         threshold = (int) (capacity * maxLoadFactor);
 
-        DLL<Entry<K,V>>[] newTable = new DLL[capacity];
+        Bucket<K,V>[] newTable = newTable(capacity);
 
         for (int i=0; i<table.length; i++) {
             if (table[i] != null) {
-                for (Entry<K,V> entry : table[i]) {
-                    int bucketIndex = toIndex(entry.hash);
-                    DLL<Entry<K,V>> bucket = newTable[bucketIndex];
-                    
-                    if (bucket == null) newTable[bucketIndex] = bucket = new DLL<>();
-                    bucket.add(entry);
-                }
-            }
+                transferBucket(table[i], newTable);
 
-        // Avoid memory leak. Help GC.
-        table[i].clear();
-        table[i] = null;
+                // Avoid memory leak. Help GC.
+                table[i] = null;
+            }
         }
 
         table = newTable;
     }
 
+    /**
+     * Allocates the doubled table but leaves the entries in oldTable.
+     * They are moved over by rehashStep() during the following operations.
+     */
+    private void startIncrementalResize() {
+        if (oldTable != null) {
+            // Previous resize still running. Only possible with a tiny table, finish it now.
+            finishRehash();
+        }
+        modCount++;
+        oldTable = table;
+        rehashIndex = 0;
+        capacity *= 2;
+        threshold = (int) (capacity * maxLoadFactor);
+        table = newTable(capacity);
+    }
+
+    /**
+     * Migrates every bucket still left in oldTable.
+     */
+    private void finishRehash() {
+        while (oldTable != null) rehashStep();
+    }
+
+    /**
+     * Migrates at most REHASH_BUCKETS_PER_OP non-empty buckets of oldTable, skipping at most
+     * REHASH_EMPTY_VISITS empty ones, so the cost of a single operation stays bounded.
+     */
+    private void rehashStep() {
+        int moved = 0, emptyVisits = REHASH_EMPTY_VISITS;
+        while (rehashIndex < oldTable.length && moved < REHASH_BUCKETS_PER_OP) {
+            Bucket<K,V> bucket = oldTable[rehashIndex];
+            oldTable[rehashIndex++] = null;
+            if (bucket == null) {
+                if (--emptyVisits == 0) break;
+                continue;
+            }
+            transferBucket(bucket, table);
+            moved++;
+            modCount++;
+        }
+        if (rehashIndex == oldTable.length) oldTable = null;
+    }
+
+    /**
+     * Relinks every entry of bucket into the matching bucket of newTable.
+     * The old bucket is left with dangling links and must be dropped.
+     */
+    private void transferBucket(Bucket<K,V> bucket, Bucket<K,V>[] newTable) {
+        Entry<K,V> entry = bucket.first();
+        while (entry != null) {
+            Entry<K,V> next = entry.next;   // insert() relinks entry
+            addToBucket(newTable, toIndex(entry.hash, newTable.length), entry);
+            entry = next;
+        }
+    }
+
     /**
      * Removes the entry given the specified bucket index and key.
      * @param bucketIndex
@@ -227,19 +614,25 @@ public class HashMapSC<K,V> {
     private V bucketRemoveEntry(int bucketIndex, K key) {
         Entry<K,V> entry = getEntry(bucketIndex, key);
         if (entry != null) {
-            DLL<Entry<K,V>> links = table[bucketIndex];
-            links.remove(entry);
+            removeFromBucket(table, bucketIndex, entry);
             --size;
+            modCount++;
             return entry.value;
         } else return null;
     }
 
-    private static Object[] combine(Object[] a, Object[] b){
-        int length = a.length + b.length;
-        Object[] result = new Object[length];
-        System.arraycopy(a, 0, result, 0, a.length);
-        System.arraycopy(b, 0, result, a.length, b.length);
-        return result;
+    /**
+     * Sorts the positions of keys by their bucket index, so a bulk operation visits
+     * each bucket once and walks the table front to back.
+     * @return (bucketIndex << 32 | position) for every key, in ascending order
+     */
+    private long[] bucketOrder(K[] keys) {
+        long[] order = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = ((long) toIndex(keys[i].hashCode()) << 32) | i;
+        }
+        Arrays.sort(order);
+        return order;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package ds.hashmap;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary snapshot of a HashMapSC in a file.
+ * Entries are encoded with a Codec for the keys and one for the values into a direct
+ * ByteBuffer, which is written to a FileChannel in large sequential blocks.
+ * The header stores the number of entries, so read() creates the map at its final
+ * capacity and never resizes while loading.
+ *
+ * File layout: [int magic][int version][long size] followed by size records of
+ * [int length][byte hasValue][key][value], where length counts the bytes after itself
+ * and the value is left out if it is null.
+ */
+public final class HashMapSnapshot {
+
+    private static final int MAGIC = 0x484D5353;    // "HMSS"
+    private static final int VERSION = 1;
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private HashMapSnapshot() { }
+
+    /**
+     * Writes every entry of map to the file at path, replacing any existing file.
+     * @throws java.util.ConcurrentModificationException if map is modified while it is written
+     */
+    public static <K,V> void write(HashMapSC<K,V> map, Path path, Codec<? super K> keyCodec,
+            Codec<? super V> valueCodec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BLOCK_SIZE);
+            buf.putInt(MAGIC).putInt(VERSION).putLong(map.size());
+
+            for (HashMapSC<K,V>.Cursor c = map.cursor(); c.advance(); ) {
+                for (;;) {
+                    int start = buf.position();
+                    try {
+                        writeRecord(buf, c.key(), c.value(), keyCodec, valueCodec);
+                        break;
+                    } catch (BufferOverflowException e) {
+                        buf.position(start);
+                        if (start > 0) {
+                            flush(channel, buf);
+                        } else {
+                            // A single record larger than the buffer
+                            buf = ByteBuffer.allocateDirect(buf.capacity() * 2);
+                        }
+                    }
+                }
+            }
+            flush(channel, buf);
+        }
+    }
+
+    /**
+     * Loads a snapshot written by write().
+     * @return a new map holding every entry of the snapshot
+     * @throws IOException if the file is not a snapshot or is truncated
+     */
+    public static <K,V> HashMapSC<K,V> read(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BlockReader in = new BlockReader(channel);
+            ByteBuffer buf = in.require(16);
+            if (buf.getInt() != MAGIC) throw new IOException("Not a HashMapSnapshot file: " + path);
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("Unsupported version: " + version);
+            long size = buf.getLong();
+            if (size < 0 || size > Integer.MAX_VALUE) throw new IOException("Corrupt size: " + size);
+
+            HashMapSC<K,V> map = new HashMapSC<>((int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(size / LOAD_FACTOR) + 1), LOAD_FACTOR);
+            for (long i = 0; i < size; i++) {
+                int length = in.require(Integer.BYTES).getInt();
+                buf = in.require(length);
+                int end = buf.position() + length;
+                boolean hasValue = buf.get() != 0;
+                K key = keyCodec.decode(buf);
+                V value = hasValue ? valueCodec.decode(buf) : null;
+                if (buf.position() != end) throw new IOException("Corrupt record " + i);
+                map.put(key, value);
+            }
+            return map;
+        }
+    }
+
+    private static <K,V> void writeRecord(ByteBuffer buf, K key, V value, Codec<? super K> keyCodec,
+            Codec<? super V> valueCodec) {
+        int start = buf.position();
+        buf.putInt(0);      // length, filled in below. Throws BufferOverflowException like the other puts
+        buf.put((byte) (value == null ? 0 : 1));
+        keyCodec.encode(key, buf);
+        if (value != null) valueCodec.encode(value, buf);
+        buf.putInt(start, buf.position() - start - Integer.BYTES);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) channel.write(buf);
+        buf.clear();
+    }
+
+    /**
+     * Reads a channel through a direct buffer, refilling it a block at a time.
+     */
+    private static final class BlockReader {
+        private final FileChannel channel;
+        private ByteBuffer buf;
+
+        BlockReader(FileChannel channel) {
+            this.channel = channel;
+            this.buf = ByteBuffer.allocateDirect(BLOCK_SIZE);
+            buf.flip();     // starts empty
+        }
+
+        /**
+         * @return the buffer, with at least n bytes remaining from its position
+         */
+        ByteBuffer require(int n) throws IOException {
+            if (buf.remaining() >= n) return buf;
+            if (buf.capacity() < n) {
+                ByteBuffer bigger = ByteBuffer.allocateDirect(Math.max(n, buf.capacity() * 2));
+                bigger.put(buf);
+                buf = bigger;
+            } else {
+                buf.compact();
+            }
+            while (buf.position() < n) {
+                if (channel.read(buf) < 0) throw new EOFException("Truncated snapshot");
+            }
+            buf.flip();
+            return buf;
+        }
+    }
+
+}
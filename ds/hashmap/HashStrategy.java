@@ -0,0 +1,86 @@
+package ds.hashmap;
+
+import java.security.SecureRandom;
+
+/**
+ * Decides how HashMapSC turns a key's hashCode into a bucket index, and which
+ * table capacities that requires.
+ * Strategies that need power of 2 capacities replace the modulo by a mask or a shift.
+ */
+public interface HashStrategy {
+
+    /**
+     * @return the capacity to allocate for a requested capacity
+     */
+    int tableSizeFor(int capacity);
+
+    /**
+     * @param hash : the key's hashCode
+     * @param length : the table length, as returned by tableSizeFor() or doubled from it
+     * @return index in the domain [0,length-1]
+     */
+    int index(int hash, int length);
+
+    /**
+     * Removes the sign bit and takes the remainder. Works with any capacity.
+     * One integer division per lookup.
+     */
+    HashStrategy MODULO = new HashStrategy() {
+        public int tableSizeFor(int capacity) { return capacity; }
+        public int index(int hash, int length) { return (hash & 0x7FFFFFFF) % length; }
+    };
+
+    /**
+     * Spreads the high bits downwards with h ^ (h >>> 16) and keeps the low bits with a mask.
+     * Power of 2 capacities.
+     */
+    HashStrategy MASK = new HashStrategy() {
+        public int tableSizeFor(int capacity) { return powerOfTwo(capacity); }
+        public int index(int hash, int length) { return (hash ^ (hash >>> 16)) & (length - 1); }
+    };
+
+    /**
+     * Fibonacci hashing: multiplies by 2^32 / golden ratio and keeps the high bits.
+     * Consecutive keys land far apart. Power of 2 capacities.
+     */
+    HashStrategy FIBONACCI = new HashStrategy() {
+        public int tableSizeFor(int capacity) { return powerOfTwo(capacity); }
+        public int index(int hash, int length) {
+            return (hash * 0x9E3779B9) >>> (Integer.numberOfLeadingZeros(length) + 1);
+        }
+    };
+
+    /**
+     * Mixes the hashCode with a secret seed through the murmur3 finalizer, so an attacker
+     * who does not know the seed can not choose keys that collide. Power of 2 capacities.
+     */
+    static HashStrategy seeded(int seed) {
+        return new HashStrategy() {
+            public int tableSizeFor(int capacity) { return powerOfTwo(capacity); }
+            public int index(int hash, int length) {
+                int h = hash ^ seed;
+                h ^= h >>> 16;
+                h *= 0x85EBCA6B;
+                h ^= h >>> 13;
+                h *= 0xC2B2AE35;
+                h ^= h >>> 16;
+                return h & (length - 1);
+            }
+        };
+    }
+
+    /**
+     * @return a seeded strategy with a seed drawn from SecureRandom
+     */
+    static HashStrategy randomized() {
+        return seeded(new SecureRandom().nextInt());
+    }
+
+    /**
+     * @return the smallest power of 2 not below capacity, at least 2
+     */
+    static int powerOfTwo(int capacity) {
+        if (capacity >= 1 << 30) return 1 << 30;
+        return Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+}
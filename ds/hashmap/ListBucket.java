@@ -0,0 +1,48 @@
+package ds.hashmap;
+/**
+ * Bucket of HashMapSC holding a short chain of entries. The entries are the nodes of the
+ * doubly linked chain, so insert and remove take O(1) and find is a linear scan.
+ */
+final class ListBucket<K,V> implements Bucket<K,V> {
+
+    private Entry<K,V> first, last;
+    private int size = 0;
+
+    @Override
+    public Entry<K,V> find(K key, int hash) {
+        for (Entry<K,V> e = first; e != null; e = e.next) {
+            if (e.hash == hash && (e.key == key || e.key.equals(key))) return e;
+        }
+        return null;
+    }
+
+    @Override
+    public void insert(Entry<K,V> entry) {
+        entry.prev = last;
+        entry.next = null;
+        if (last == null) first = entry; else last.next = entry;
+        last = entry;
+        size++;
+    }
+
+    @Override
+    public boolean remove(Entry<K,V> entry) {
+        Entry<K,V> pred = entry.prev, succ = entry.next;
+        if (pred == null ? first != entry : pred.next != entry) return false;
+        if (pred == null) first = succ; else pred.next = succ;
+        if (succ == null) last = pred; else succ.prev = pred;
+        entry.prev = entry.next = null;
+        size--;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Entry<K,V> first() {
+        return first;
+    }
+}
@@ -0,0 +1,248 @@
+package ds.hashmap;
+/**
+ * HashMap with primitive long keys and long values. Nothing is ever boxed.
+ * Absent keys are reported with a configurable no-entry value (0 by default).
+ * Open addressing with linear probing over a power of 2 table. Key 0 marks a free
+ * slot, so a mapping for key 0 is kept in a separate field. Removal shifts the
+ * following entries back instead of leaving tombstones.
+ * put, get and remove do not allocate unless the table has to grow.
+ */
+import java.util.Arrays;
+
+public class LongLongHashMap extends PrimitiveHashMap {
+
+    // HashMap properties
+    private long[] keys;
+    private long[] values;
+    private final long noEntryValue;
+
+    // Value mapped to key 0, which can not be stored in the table
+    private long zeroValue;
+
+    // CONSTRUCTORS
+
+    public LongLongHashMap(int capacity, double maxLoadFactor, long noEntryValue) {
+        super(capacity, maxLoadFactor);
+        this.noEntryValue = noEntryValue;
+        allocate(tableSizeFor(capacity));
+    }
+
+    public LongLongHashMap(int capacity, double maxLoadFactor) {
+        this(capacity, maxLoadFactor, 0L);
+    }
+
+    public LongLongHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR, 0L);
+    }
+
+    public LongLongHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, 0L);
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Associates the specified value with the specified key in the Hash Map
+     * @return the previous value, or the no-entry value if the key was not present
+     */
+    public long put(long key, long value) {
+        if (key == 0L) {
+            long oldval = hasZeroKey ? zeroValue : noEntryValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldval;
+        }
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) {
+                long oldval = values[pos];
+                values[pos] = value;
+                return oldval;
+            }
+            pos = (pos + 1) & mask;
+        }
+        if (growForInsert()) pos = freeSlot(key);   // this.keys is then the new table
+        this.keys[pos] = key;
+        values[pos] = value;
+        size++;
+        return noEntryValue;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or the no-entry value if there is none
+     */
+    public long get(long key) {
+        if (key == 0L) return hasZeroKey ? zeroValue : noEntryValue;
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) return values[pos];
+            pos = (pos + 1) & mask;
+        }
+        return noEntryValue;
+    }
+
+    /**
+     * @return True if HashMap contains key.
+     */
+    public boolean containsKey(long key) {
+        if (key == 0L) return hasZeroKey;
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) return true;
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     * @return the value of the removed entry, else the no-entry value
+     */
+    public long remove(long key) {
+        if (key == 0L) {
+            if (!hasZeroKey) return noEntryValue;
+            long oldval = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0L;
+            size--;
+            return oldval;
+        }
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) {
+                long oldval = values[pos];
+                size--;
+                shiftKeys(pos);
+                return oldval;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return noEntryValue;
+    }
+
+    /**
+     * Removes all elements inside the HashMap. The capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        hasZeroKey = false;
+        zeroValue = 0L;
+        size = 0;
+    }
+
+    /**
+     * Adds delta to the value mapped to key, treating an absent key as mapped to the no-entry value.
+     * @return the new value
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0L) {
+            long newval = (hasZeroKey ? zeroValue : noEntryValue) + delta;
+            put(0L, newval);
+            return newval;
+        }
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) return values[pos] += delta;
+            pos = (pos + 1) & mask;
+        }
+        long newval = noEntryValue + delta;
+        if (growForInsert()) pos = freeSlot(key);   // this.keys is then the new table
+        this.keys[pos] = key;
+        values[pos] = newval;
+        size++;
+        return newval;
+    }
+
+    public long getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (hasZeroKey) sb.append(0).append(':').append(zeroValue).append(' ');
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0L) sb.append(keys[i]).append(':').append(values[i]).append(' ');
+        }
+        return sb.toString();
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Spreads the key bits so that consecutive keys do not form long runs.
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Fills the hole left at pos by moving back the following entries of the
+     * run whose home slot is not between the hole and their current slot.
+     */
+    private void shiftKeys(int pos) {
+        final long[] keys = this.keys;
+        int last, slot;
+        long k;
+        for (;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = keys[pos]) == 0L) {
+                    keys[last] = 0L;
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (fillsHole(last, slot, pos)) break;
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    @Override
+    void resizeTable(int newCapacity) {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != 0L) {
+                int pos = freeSlot(k);
+                keys[pos] = k;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * @return the first free slot on the probe sequence of key, which is not in the table
+     */
+    private int freeSlot(long key) {
+        int pos = mix(key) & mask;
+        while (keys[pos] != 0L) pos = (pos + 1) & mask;
+        return pos;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        setTableLength(capacity);
+    }
+
+}
@@ -0,0 +1,215 @@
+package ds.hashmap;
+/**
+ * HashMap with primitive long keys. Keys are never boxed.
+ * Open addressing with linear probing over a power of 2 table. Key 0 marks a free
+ * slot, so a mapping for key 0 is kept in a separate field. Removal shifts the
+ * following entries back instead of leaving tombstones.
+ * put, get and remove do not allocate unless the table has to grow.
+ */
+import java.util.Arrays;
+
+@SuppressWarnings("unchecked")
+public class LongObjectHashMap<V> extends PrimitiveHashMap {
+
+    // HashMap properties
+    private long[] keys;
+    private Object[] values;
+
+    // Value mapped to key 0, which can not be stored in the table
+    private V zeroValue;
+
+    // CONSTRUCTORS
+
+    public LongObjectHashMap(int capacity, double maxLoadFactor) {
+        super(capacity, maxLoadFactor);
+        allocate(tableSizeFor(capacity));
+    }
+
+    public LongObjectHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Associates the specified value with the specified key in the Hash Map
+     * @return the previous value, or null if the key was not present
+     */
+    public V put(long key, V value) {
+        if (key == 0L) {
+            V oldval = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldval;
+        }
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) {
+                V oldval = (V) values[pos];
+                values[pos] = value;
+                return oldval;
+            }
+            pos = (pos + 1) & mask;
+        }
+        if (growForInsert()) pos = freeSlot(key);   // this.keys is then the new table
+        this.keys[pos] = key;
+        values[pos] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or null if there is none
+     */
+    public V get(long key) {
+        if (key == 0L) return zeroValue;
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) return (V) values[pos];
+            pos = (pos + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return True if HashMap contains key.
+     */
+    public boolean containsKey(long key) {
+        if (key == 0L) return hasZeroKey;
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) return true;
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     * @return the value of the removed entry, else null
+     */
+    public V remove(long key) {
+        if (key == 0L) {
+            if (!hasZeroKey) return null;
+            V oldval = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return oldval;
+        }
+        final long[] keys = this.keys;
+        int pos = mix(key) & mask;
+        long k;
+        while ((k = keys[pos]) != 0L) {
+            if (k == key) {
+                V oldval = (V) values[pos];
+                size--;
+                shiftKeys(pos);
+                return oldval;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Removes all elements inside the HashMap. The capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (hasZeroKey) sb.append(0).append(':').append(zeroValue).append(' ');
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0L) sb.append(keys[i]).append(':').append(values[i]).append(' ');
+        }
+        return sb.toString();
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Spreads the key bits so that consecutive keys do not form long runs.
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Fills the hole left at pos by moving back the following entries of the
+     * run whose home slot is not between the hole and their current slot.
+     */
+    private void shiftKeys(int pos) {
+        final long[] keys = this.keys;
+        int last, slot;
+        long k;
+        for (;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((k = keys[pos]) == 0L) {
+                    keys[last] = 0L;
+                    values[last] = null;
+                    return;
+                }
+                slot = mix(k) & mask;
+                if (fillsHole(last, slot, pos)) break;
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    @Override
+    void resizeTable(int newCapacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != 0L) {
+                int pos = freeSlot(k);
+                keys[pos] = k;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * @return the first free slot on the probe sequence of key, which is not in the table
+     */
+    private int freeSlot(long key) {
+        int pos = mix(key) & mask;
+        while (keys[pos] != 0L) pos = (pos + 1) & mask;
+        return pos;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        setTableLength(capacity);
+    }
+
+}
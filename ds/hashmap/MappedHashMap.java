@@ -0,0 +1,406 @@
+package ds.hashmap;
+/**
+ * Off-heap, persistent HashMap stored in a memory-mapped file.
+ * Keys and values are fixed-width byte records whose widths are chosen when the file is created.
+ * Open addressing with linear probing; removal shifts the following entries back, so no
+ * tombstones are left in the file. Capacity is always a power of 2.
+ *
+ * The table lives in the page cache, not on the Java heap, so its size puts no pressure on
+ * the garbage collector. Reopening an existing file only maps it; nothing is rebuilt.
+ * Lookups compare the key in place and copy the value straight into a caller supplied array.
+ *
+ * File layout: a HEADER_SIZE byte header followed by capacity slots of
+ * [1 state byte][keySize bytes][valueSize bytes].
+ * Writes reach the file when the OS flushes the pages, or when force() is called.
+ * Not thread-safe.
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class MappedHashMap implements Closeable {
+
+    private static final int MAGIC = 0x4D48534D;        // "MHSM"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;    // a single mapping must stay below 2GB
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    // Header offsets
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int KEY_SIZE_OFFSET = 8;
+    private static final int VALUE_SIZE_OFFSET = 12;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int SIZE_OFFSET = 24;
+
+    // Slot states
+    private static final byte FREE = 0;
+    private static final byte FULL = 1;
+
+    // HashMap properties
+    private Path path;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] segments;
+    private int keySize, valueSize, slotSize, slotsPerSegment;
+    private long capacity, mask, threshold, size;
+
+    private MappedHashMap() { }
+
+    // FACTORY METHODS
+
+    /**
+     * Creates a new map file at path, replacing any existing file.
+     * @param keySize : width of every key in bytes
+     * @param valueSize : width of every value in bytes
+     * @param capacity : number of entries the map holds before it has to grow
+     */
+    public static MappedHashMap create(Path path, int keySize, int valueSize, long capacity) throws IOException {
+        if (keySize <= 0) throw new IllegalArgumentException("Illegal key size: " + keySize);
+        if (valueSize < 0) throw new IllegalArgumentException("Illegal value size: " + valueSize);
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        long slots = Math.max(2, Long.highestOneBit(Math.max(1, (long) Math.ceil(capacity / MAX_LOAD_FACTOR) - 1)) << 1);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(MAGIC_OFFSET, MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.putInt(KEY_SIZE_OFFSET, keySize);
+            header.putInt(VALUE_SIZE_OFFSET, valueSize);
+            header.putLong(CAPACITY_OFFSET, slots);
+            header.putLong(SIZE_OFFSET, 0);
+            MappedHashMap map = new MappedHashMap();
+            map.load(path, channel);
+            return map;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing map file. Only the mapping is set up, no entry is read.
+     * @throws IOException if the file is not a MappedHashMap file
+     */
+    public static MappedHashMap open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedHashMap map = new MappedHashMap();
+            map.load(path, channel);
+            return map;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Associates the specified value with the specified key in the Hash Map
+     * @return true if the key was not present before
+     */
+    public boolean put(byte[] key, byte[] value) throws IOException {
+        checkKey(key);
+        if (value == null || value.length != valueSize)
+            throw new IllegalArgumentException("Value must be " + valueSize + " bytes");
+
+        long slot = findSlot(key);
+        if (slot >= 0) {
+            segment(slot).put(offset(slot) + 1 + keySize, value, 0, valueSize);
+            return false;
+        }
+        if (size + 1 > threshold) {
+            resizeTable(capacity << 1);
+        }
+        slot = hash(key) & mask;
+        while (state(slot) == FULL) slot = (slot + 1) & mask;
+        writeSlot(slot, key, value);
+        setSize(size + 1);
+        return true;
+    }
+
+    /**
+     * Copies the value mapped to key into dst without allocating.
+     * @return true if the key was found
+     */
+    public boolean get(byte[] key, byte[] dst) {
+        checkKey(key);
+        if (dst.length < valueSize) throw new IllegalArgumentException("Destination must be " + valueSize + " bytes");
+        long slot = findSlot(key);
+        if (slot < 0) return false;
+        segment(slot).get(offset(slot) + 1 + keySize, dst, 0, valueSize);
+        return true;
+    }
+
+    /**
+     * @return a copy of the value mapped to key, or null if there is none
+     */
+    public byte[] get(byte[] key) {
+        byte[] dst = new byte[valueSize];
+        return get(key, dst) ? dst : null;
+    }
+
+    /**
+     * @return True if HashMap contains key.
+     */
+    public boolean containsKey(byte[] key) {
+        checkKey(key);
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Removes the entry with the specified key
+     * @return true if the key was present
+     */
+    public boolean remove(byte[] key) {
+        checkKey(key);
+        long slot = findSlot(key);
+        if (slot < 0) return false;
+        shiftKeys(slot);
+        setSize(size - 1);
+        return true;
+    }
+
+    /**
+     * Removes all elements inside the HashMap. The file keeps its size.
+     */
+    public void clear() {
+        for (long slot = 0; slot < capacity; slot++) segment(slot).put(offset(slot), FREE);
+        setSize(0);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int keySize() {
+        return keySize;
+    }
+
+    public int valueSize() {
+        return valueSize;
+    }
+
+    /**
+     * Writes every modified page back to the file.
+     */
+    public void force() {
+        header.force();
+        for (MappedByteBuffer segment : segments) segment.force();
+    }
+
+    /**
+     * Flushes the map and closes the file. The map must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+        header = null;
+        segments = null;
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Maps the file open on channel. The fields are only replaced once every mapping
+     * succeeded, so a failure leaves the map as it was.
+     */
+    private void load(Path path, FileChannel channel) throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC) throw new IOException("Not a MappedHashMap file: " + path);
+        if (header.getInt(VERSION_OFFSET) != VERSION) throw new IOException("Unsupported version: " + header.getInt(VERSION_OFFSET));
+
+        int keySize = header.getInt(KEY_SIZE_OFFSET);
+        int valueSize = header.getInt(VALUE_SIZE_OFFSET);
+        long capacity = header.getLong(CAPACITY_OFFSET);
+        int slotSize = 1 + keySize + valueSize;
+        int slotsPerSegment = (int) Math.min(capacity, MAX_SEGMENT_BYTES / slotSize);
+
+        // Slots never straddle two segments
+        int n = (int) ((capacity + slotsPerSegment - 1) / slotsPerSegment);
+        MappedByteBuffer[] segments = new MappedByteBuffer[n];
+        long position = HEADER_SIZE;
+        for (int i = 0; i < n; i++) {
+            long slots = Math.min(slotsPerSegment, capacity - (long) i * slotsPerSegment);
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, slots * slotSize);
+            position += slots * slotSize;
+        }
+
+        this.path = path;
+        this.channel = channel;
+        this.header = header;
+        this.segments = segments;
+        this.keySize = keySize;
+        this.valueSize = valueSize;
+        this.capacity = capacity;
+        this.slotSize = slotSize;
+        this.slotsPerSegment = slotsPerSegment;
+        size = header.getLong(SIZE_OFFSET);
+        mask = capacity - 1;
+        threshold = (long) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Rehashes every entry into a new file of the given capacity, then replaces the
+     * current file with it. The current file stays open until the new one is in place,
+     * so if the move fails the map keeps working on the old file.
+     */
+    private void resizeTable(long newCapacity) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".resize");
+        byte[] key = new byte[keySize];
+        byte[] value = new byte[valueSize];
+
+        try (MappedHashMap bigger = create(tmp, keySize, valueSize, (long) (newCapacity * MAX_LOAD_FACTOR))) {
+            for (long slot = 0; slot < capacity; slot++) {
+                if (state(slot) != FULL) continue;
+                ByteBuffer seg = segment(slot);
+                int off = offset(slot);
+                seg.get(off + 1, key, 0, keySize);
+                seg.get(off + 1 + keySize, value, 0, valueSize);
+                long s = bigger.hash(key) & bigger.mask;
+                while (bigger.state(s) == FULL) s = (s + 1) & bigger.mask;
+                bigger.writeSlot(s, key, value);
+            }
+            bigger.setSize(size);
+        }
+
+        // The new channel follows the file through the move
+        FileChannel next = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            force();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            next.close();
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        FileChannel old = channel;
+        try {
+            load(path, next);
+        } catch (IOException | RuntimeException e) {
+            next.close();
+            throw e;
+        }
+        old.close();
+    }
+
+    /**
+     * @return the slot holding key, or -1 if key is absent
+     */
+    private long findSlot(byte[] key) {
+        long slot = hash(key) & mask;
+        while (state(slot) == FULL) {
+            if (keyEquals(slot, key)) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Fills the hole left at pos by moving back the following entries of the
+     * run whose home slot is not between the hole and their current slot.
+     */
+    private void shiftKeys(long pos) {
+        long last, home;
+        for (;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if (state(pos) != FULL) {
+                    segment(last).put(offset(last), FREE);
+                    return;
+                }
+                home = hashAt(pos) & mask;
+                if (last <= pos ? last >= home || home > pos : last >= home && home > pos) break;
+                pos = (pos + 1) & mask;
+            }
+            copySlot(pos, last);
+        }
+    }
+
+    private void writeSlot(long slot, byte[] key, byte[] value) {
+        ByteBuffer seg = segment(slot);
+        int off = offset(slot);
+        seg.put(off + 1, key, 0, keySize);
+        seg.put(off + 1 + keySize, value, 0, valueSize);
+        seg.put(off, FULL);
+    }
+
+    private void copySlot(long from, long to) {
+        ByteBuffer src = segment(from), dst = segment(to);
+        int srcOff = offset(from), dstOff = offset(to);
+        for (int i = 0; i < slotSize; i++) dst.put(dstOff + i, src.get(srcOff + i));
+    }
+
+    private boolean keyEquals(long slot, byte[] key) {
+        ByteBuffer seg = segment(slot);
+        int off = offset(slot) + 1;
+        for (int i = 0; i < keySize; i++) {
+            if (seg.get(off + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    private byte state(long slot) {
+        return segment(slot).get(offset(slot));
+    }
+
+    private ByteBuffer segment(long slot) {
+        return segments[(int) (slot / slotsPerSegment)];
+    }
+
+    private int offset(long slot) {
+        return (int) (slot % slotsPerSegment) * slotSize;
+    }
+
+    private void setSize(long size) {
+        this.size = size;
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    private void checkKey(byte[] key) {
+        if (key == null || key.length != keySize)
+            throw new IllegalArgumentException("Key must be " + keySize + " bytes");
+    }
+
+    /**
+     * FNV-1a over the key bytes, followed by a final mix of the high bits into the low bits.
+     */
+    private long hash(byte[] key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < keySize; i++) {
+            h ^= key[i] & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Same hash as hash(byte[]), computed on the key stored in slot.
+     */
+    private long hashAt(long slot) {
+        ByteBuffer seg = segment(slot);
+        int off = offset(slot) + 1;
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < keySize; i++) {
+            h ^= seg.get(off + i) & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return h ^ (h >>> 32);
+    }
+
+}
@@ -0,0 +1,83 @@
+package ds.hashmap;
+/**
+ * Bookkeeping shared by the open addressing maps with primitive keys: load factor,
+ * table mask and threshold, size, the mapping for key 0 and table growth.
+ * Subclasses own the typed key and value arrays and the probing loops.
+ */
+abstract class PrimitiveHashMap {
+
+    static final int DEFAULT_CAPACITY = 16;
+    static final double DEFAULT_LOAD_FACTOR = 0.75;
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // HashMap properties
+    final double maxLoadFactor;
+    int mask, threshold, size = 0;
+
+    // Key 0 marks a free slot, so its mapping is kept outside the table
+    boolean hasZeroKey;
+
+    PrimitiveHashMap(int capacity, double maxLoadFactor) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (!(maxLoadFactor > 0 && maxLoadFactor < 1)) throw new IllegalArgumentException("Illegal load factor: " + maxLoadFactor);
+        this.maxLoadFactor = maxLoadFactor;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Replaces the table by an empty one of the given length, a power of 2.
+     */
+    abstract void allocate(int length);
+
+    /**
+     * Moves every entry into a new table of the given length, a power of 2.
+     */
+    abstract void resizeTable(int length);
+
+    /**
+     * @return the table length needed to hold capacity entries without growing
+     */
+    final int tableSizeFor(int capacity) {
+        int slots = (int) Math.min(MAXIMUM_CAPACITY, Math.ceil(capacity / maxLoadFactor));
+        if (slots >= MAXIMUM_CAPACITY) return MAXIMUM_CAPACITY;
+        return Math.max(2, Integer.highestOneBit(Math.max(1, slots - 1)) << 1);
+    }
+
+    /**
+     * Sets mask and threshold for a table of the given length.
+     */
+    final void setTableLength(int length) {
+        mask = length - 1;
+        threshold = Math.min(length - 1, (int) (length * maxLoadFactor));
+    }
+
+    /**
+     * Called before a new key is stored in the table. Doubles the table first if the
+     * insertion would take the size past the threshold.
+     * @return true if the table was replaced, so the free slot has to be found again
+     * @throws IllegalStateException if the table is full and can not grow. The map is unchanged.
+     */
+    final boolean growForInsert() {
+        if (size < threshold) return false;
+        if (mask + 1 == MAXIMUM_CAPACITY) throw new IllegalStateException("HashMap is full");
+        resizeTable((mask + 1) << 1);
+        return true;
+    }
+
+    /**
+     * Used when shifting entries back after a removal.
+     * @return true if the entry at pos, whose home slot is home, may move into the hole,
+     *         that is unless home lies cyclically in (hole, pos]
+     */
+    static boolean fillsHole(int hole, int home, int pos) {
+        return hole <= pos ? hole >= home || home > pos : hole >= home && home > pos;
+    }
+
+}
@@ -0,0 +1,238 @@
+package ds.hashmap;
+
+/**
+ * Bucket of HashMapSC used once a chain grows past HashMapSC's treeify threshold.
+ * The entries stay linked in the ListBucket chain they came from, so the map walks them
+ * as it walks any bucket, and are additionally indexed by an AVL tree (see ds.avltree.AVL).
+ * Removal deletes the entry from the tree and unlinks it from the chain in O(1), so
+ * insert, remove and find all take O(log n).
+ *
+ * The tree orders entries by hash, then by compareTo when both keys are of the same
+ * Comparable class, so lookups take O(log n) even when every key collides.
+ * Keys that can not be ordered fall back to searching both subtrees.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+final class TreeBucket<K,V> implements Bucket<K,V> {
+    // Nested Node Class
+    private class Node {
+        private final Entry<K,V> entry;
+        private Node left, right; // Left and Right child of Node
+        private int height;
+
+        Node(Entry<K,V> entry) {
+            this.entry = entry;
+        }
+    }
+    // End of Nested Node Class
+
+    private final ListBucket<K,V> chain;
+    private Node root;
+    private boolean removed;    // set by delete() once the entry was found
+
+    /**
+     * Creates a tree bucket indexing every entry of the chain. The chain is kept as is.
+     */
+    TreeBucket(ListBucket<K,V> chain) {
+        this.chain = chain;
+        for (Entry<K,V> e = chain.first(); e != null; e = e.next) root = insert(root, e);
+    }
+
+    /**
+     * Appends the entry to the chain and inserts it into the tree. O(log n)
+     */
+    @Override
+    public void insert(Entry<K,V> entry) {
+        chain.insert(entry);
+        root = insert(root, entry);
+    }
+
+    /**
+     * Removes this exact entry from the tree, then unlinks it from the chain. O(log n)
+     * @return true if the entry was in the bucket
+     */
+    @Override
+    public boolean remove(Entry<K,V> entry) {
+        removed = false;
+        root = delete(root, entry);
+        return removed && chain.remove(entry);
+    }
+
+    @Override
+    public int size() {
+        return chain.size();
+    }
+
+    @Override
+    public Entry<K,V> first() {
+        return chain.first();
+    }
+
+    /**
+     * @return the chain of entries, as a plain list bucket
+     */
+    ListBucket<K,V> untreeify() {
+        return chain;
+    }
+
+    /**
+     * Finds the entry with the specified key. O(log n) unless keys share a hash and can not be ordered.
+     * @return entry with the key or null if no such key
+     */
+    @Override
+    public Entry<K,V> find(K key, int hash) {
+        return find(root, key, hash);
+    }
+
+    private Entry<K,V> find(Node x, K key, int hash) {
+        while (x != null) {
+            Entry<K,V> e = x.entry;
+            int cmp;
+            if (hash < e.hash)
+                x = x.left;
+            else if (hash > e.hash)
+                x = x.right;
+            else if (e.key == key || e.key.equals(key))
+                return e;
+            else if ((cmp = compareKeys(key, e.key)) != 0)
+                x = cmp < 0 ? x.left : x.right;
+            else {
+                // Can not tell which side key is on. Search right, then continue left.
+                Entry<K,V> r = find(x.right, key, hash);
+                if (r != null) return r;
+                x = x.left;
+            }
+        }
+        return null;
+    }
+
+    // Helper Methods
+
+
+    /**
+     * Total order used to place entries: hash, then class name, then natural ordering when
+     * both keys are of the same Comparable class, then identity.
+     * Ordering by class name before identity keeps Comparable keys of one class in compareTo
+     * order even when keys of other classes share their hash.
+     * Returns 0 only for entries that can not be told apart by any of these.
+     */
+    private static int compare(Entry<?,?> a, Entry<?,?> b) {
+        if (a.hash != b.hash) return a.hash < b.hash ? -1 : 1;
+        int cmp = a.key.getClass().getName().compareTo(b.key.getClass().getName());
+        if (cmp != 0) return cmp;
+        cmp = compareKeys(a.key, b.key);
+        if (cmp != 0) return cmp;
+        return Integer.compare(System.identityHashCode(a.key), System.identityHashCode(b.key));
+    }
+
+    /**
+     * @return k.compareTo(x) if both keys are of the same Comparable class, 0 otherwise
+     */
+    private static int compareKeys(Object k, Object x) {
+        if (k instanceof Comparable && x != null && k.getClass() == x.getClass())
+            return ((Comparable) k).compareTo(x);
+        return 0;
+    }
+
+    private Node insert(Node x, Entry<K,V> entry) {
+        if (x == null) return new Node(entry);
+        if (compare(entry, x.entry) < 0)
+            x.left = insert(x.left, entry);
+        else
+            x.right = insert(x.right, entry);
+
+        updateHeight(x);
+        return balance(x);
+    }
+
+    /**
+     * Removes the node holding exactly this entry from the subtree.
+     * @return the new root of the subtree
+     */
+    private Node delete(Node x, Entry<K,V> entry) {
+        if (x == null) return null;
+
+        if (x.entry == entry) {
+            removed = true;
+            if (x.left == null) return x.right;
+            if (x.right == null) return x.left;
+            // Node has both left and right subtree, the successor takes its place
+            Node successor = min(x.right);
+            successor.right = deleteMin(x.right);
+            successor.left = x.left;
+            x = successor;
+        } else {
+            int cmp = compare(entry, x.entry);
+            if (cmp < 0)
+                x.left = delete(x.left, entry);
+            else if (cmp > 0)
+                x.right = delete(x.right, entry);
+            else {
+                // Indistinguishable entries may sit on either side
+                x.left = delete(x.left, entry);
+                if (!removed) x.right = delete(x.right, entry);
+            }
+        }
+
+        updateHeight(x);
+        return balance(x);
+    }
+
+    private Node deleteMin(Node x) {
+        if (x.left == null) return x.right;
+        x.left = deleteMin(x.left);
+        updateHeight(x);
+        return balance(x);
+    }
+
+    private Node min(Node x) {
+        while (x.left != null) x = x.left;
+        return x;
+    }
+
+    private Node leftRotate(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        y.left = x;
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    private Node rightRotate(Node x) {
+        Node y = x.left;
+        x.left = y.right;
+        y.right = x;
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    private int height(Node x) {
+        return x == null ? -1 : x.height;
+    }
+
+    private void updateHeight(Node x) {
+        x.height = Math.max(height(x.left), height(x.right)) + 1;
+    }
+
+    private int balanceFactor(Node x) {
+        return x == null ? 0 : height(x.left) - height(x.right);
+    }
+
+    /**
+     * Restores the AVL tree property of the subtree.
+     */
+    private Node balance(Node x) {
+        if (balanceFactor(x) < -1) {                // Right heavy tree
+            if (balanceFactor(x.right) > 0)         // RL case
+                x.right = rightRotate(x.right);
+            x = leftRotate(x);
+        } else if (balanceFactor(x) > 1) {          // Left heavy tree
+            if (balanceFactor(x.left) < 0)          // LR case
+                x.left = leftRotate(x.left);
+            x = rightRotate(x);
+        }
+        return x;
+    }
+
+}
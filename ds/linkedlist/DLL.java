@@ -1,7 +1,14 @@
 package ds.linkedlist;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DLL<E> implements Iterable<E> {
 
@@ -23,6 +30,7 @@ public class DLL<E> implements Iterable<E> {
     private Node<E> first;
     private Node<E> last;
     private int size = 0;
+    private int modCount = 0;
 
     public DLL() {
 
@@ -40,6 +48,7 @@ public class DLL<E> implements Iterable<E> {
         else
             f.prev = newNode;
         size++;
+        modCount++;
     }
 
     /**
@@ -54,6 +63,7 @@ public class DLL<E> implements Iterable<E> {
         else
             l.next = newNode;
         size++;
+        modCount++;
     }
 
     /**
@@ -68,6 +78,7 @@ public class DLL<E> implements Iterable<E> {
         else
             pred.next = newNode;
         size++;
+        modCount++;
     }
     
     /**
@@ -84,6 +95,7 @@ public class DLL<E> implements Iterable<E> {
         else 
             next.prev = null;
         size--;
+        modCount++;
         return element;
     }
 
@@ -101,6 +113,7 @@ public class DLL<E> implements Iterable<E> {
         else 
             prev.next = null;
         size--;
+        modCount++;
         return element;
     }
 
@@ -130,6 +143,7 @@ public class DLL<E> implements Iterable<E> {
 
         x.element = null;
         size--;
+        modCount++;
         return element;
     }
 
@@ -345,6 +359,64 @@ public class DLL<E> implements Iterable<E> {
         }
         first = last = null;
         size = 0;
+        modCount++;
+    }
+
+    /**
+     * Moves every element of other to the end of this list in O(1).
+     * other will be empty after this call returns.
+     */
+    public void splice(DLL<E> other) {
+        if (other == this) throw new IllegalArgumentException("Cannot splice a list into itself");
+        if (other.first == null) return;
+        if (last == null) {
+            first = other.first;
+        } else {
+            last.next = other.first;
+            other.first.prev = last;
+        }
+        last = other.last;
+        size += other.size;
+        modCount++;
+
+        other.first = other.last = null;
+        other.size = 0;
+        other.modCount++;
+    }
+
+    /**
+     * Cuts the list before the specified position. The elements from index onwards are
+     * moved to the returned list in their order, and this list keeps the ones before it.
+     * Finding the position walks from the nearer end, the cut itself is O(1).
+     *
+     * @return a new list holding the elements from index to the end
+     * @throws IndexOutOfBoundsException
+     */
+    public DLL<E> splitAt(int index) {
+        checkPositionIndex(index);
+        DLL<E> tail = new DLL<>();
+        if (index == size) return tail;
+        splitBefore(node(index), index, tail);
+        return tail;
+    }
+
+    /**
+     * Removes every element that matches the filter in a single pass
+     *
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new IllegalArgumentException("Null filter");
+        boolean removed = false;
+        for (Node<E> x = first; x != null; ) {
+            Node<E> next = x.next;
+            if (filter.test(x.element)) {
+                unlink(x);
+                removed = true;
+            }
+            x = next;
+        }
+        return removed;
     }
 
     /**
@@ -383,15 +455,160 @@ public class DLL<E> implements Iterable<E> {
             throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
     }
 
+    /**
+     * Moves Node succ, at position index, and every Node after it into the empty list tail.
+     */
+    private void splitBefore(Node<E> succ, int index, DLL<E> tail) {
+        final Node<E> pred = succ.prev;
+        tail.first = succ;
+        tail.last = last;
+        tail.size = size - index;
+        succ.prev = null;
+        if (pred == null)
+            first = null;
+        else
+            pred.next = null;
+        last = pred;
+        size = index;
+        modCount++;
+    }
+
     @Override
     public Iterator<E> iterator() {
-        return new Itr();
+        return new ListItr(0);
+    }
+
+    /**
+     * @return a bidirectional iterator over the list, starting at the first element
+     */
+    public ListIterator<E> listIterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * @return a bidirectional iterator over the list, starting at the specified position
+     * @throws IndexOutOfBoundsException
+     */
+    public ListIterator<E> listIterator(int index) {
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    /**
+     * @return a late-binding, fail-fast Spliterator over the list. Splitting hands off
+     *         the first half of the remaining nodes, so parallel streams can work on it
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new NodeSpliterator();
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Spliterator over a run of consecutive nodes. The run is the whole list, read when
+     * the spliterator is first used. trySplit walks to the middle of the run and gives the
+     * first half to a new spliterator, so the nodes are shared and no element is copied.
+     * The walk is linear, but each level of splitting only walks half as far as the last.
+     */
+    private class NodeSpliterator implements Spliterator<E> {
+        private static final int MIN_SPLIT = 1 << 10;   // Runs this short are not split
+        private Node<E> next;               // next node to visit
+        private int remaining = -1;         // nodes left in the run, -1 until bound
+        private int expectedModCount;
+
+        NodeSpliterator() {
+        }
+
+        NodeSpliterator(Node<E> next, int remaining, int expectedModCount) {
+            this.next = next;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            bind();
+            if (remaining == 0) return false;
+            E element = next.element;
+            next = next.next;
+            remaining--;
+            action.accept(element);
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            bind();
+            Node<E> x = next;
+            int n = remaining;
+            next = null;
+            remaining = 0;
+            for (; n > 0; n--) {
+                action.accept(x.element);
+                x = x.next;
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            bind();
+            if (remaining < MIN_SPLIT) return null;
+            int half = remaining >>> 1;
+            Node<E> start = next;
+            for (int i = 0; i < half; i++) next = next.next;
+            remaining -= half;
+            return new NodeSpliterator(start, half, expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            bind();
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        /**
+         * Reads the start and length of the run from the list on first use.
+         */
+        private void bind() {
+            if (remaining < 0) {
+                next = first;
+                remaining = size;
+                expectedModCount = modCount;
+            }
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
     }
 
-    private class Itr implements Iterator<E> {
+    private class ListItr implements ListIterator<E> {
         private Node<E> lastReturned;
-        private Node<E> next = first;
-        private int nextIndex = 0;
+        private Node<E> next;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            next = (index == size) ? null : node(index);
+            nextIndex = index;
+        }
 
         @Override
         public boolean hasNext() {
@@ -400,6 +617,7 @@ public class DLL<E> implements Iterable<E> {
 
         @Override
         public E next() {
+            checkForComodification();
             if(!hasNext())
                 throw new NoSuchElementException();
             
@@ -408,7 +626,79 @@ public class DLL<E> implements Iterable<E> {
             nextIndex++;
             return lastReturned.element;
         }
-        
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+
+            lastReturned = next = (next == null) ? last : next.prev;
+            nextIndex--;
+            return lastReturned.element;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        /**
+         * Unlinks the element last returned by next() or previous() in O(1)
+         */
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null)
+                throw new IllegalStateException();
+
+            Node<E> lastNext = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned)
+                next = lastNext;
+            else
+                nextIndex--;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.element = e;
+        }
+
+        /**
+         * Inserts the element before the next element in O(1)
+         */
+        @Override
+        public void add(E e) {
+            checkForComodification();
+            lastReturned = null;
+            if (next == null)
+                linkLast(e);
+            else
+                linkBefore(e, next);
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
     }
 
 
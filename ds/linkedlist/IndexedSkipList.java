@@ -0,0 +1,394 @@
+package ds.linkedlist;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexable skip list. The elements form a linked list in index order, and every node
+ * also links forward on a random number of express levels. Each link records its width,
+ * the number of positions it skips, so a walk from the top level finds the node at any
+ * index in O(log n) expected steps instead of walking the list node by node.
+ * Same API as DLL.
+ *
+ * get/set/add(int,E)/remove(int) O(log n) expected
+ */
+@SuppressWarnings("unchecked")
+public class IndexedSkipList<E> implements Iterable<E> {
+
+    private static final int MAX_LEVEL = 16;    // enough for 4^16 elements with p = 1/4
+
+    // Nested Node class
+    private static class Node<E> {
+        E element;
+        final Node<E>[] next;
+        final int[] width;      // width[i] = position of next[i] - position of this node
+
+        Node(E element, int level) {
+            this.element = element;
+            this.next = (Node<E>[]) new Node<?>[level];
+            this.width = new int[level];
+        }
+    }
+    // End of Nested Node class
+
+    // Skip List properties
+    // The head sits at position 0 and element i at position i + 1. A null link points
+    // at position size + 1, so widths stay consistent at the end of every level.
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    private Node<E> last;
+    private int level = 1;
+    private int size = 0;
+    private int modCount = 0;
+    private int seed = 0x2545F491;
+
+    // Scratch arrays for the predecessors found by a search, reused to avoid allocation
+    private final Node<E>[] update = (Node<E>[]) new Node<?>[MAX_LEVEL];
+    private final int[] rank = new int[MAX_LEVEL];
+
+    public IndexedSkipList() {
+        head.width[0] = 1;
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Inserts the specified element at the beginning of the list
+     */
+    public void addFirst(E e) {
+        insert(0, e);
+    }
+
+    /**
+     * Appends the specified element to the end of the list
+     */
+    public void addLast(E e) {
+        insert(size, e);
+    }
+
+    /**
+     * Appends the specified element to the end of the list
+     *
+     * @return true
+     */
+    public boolean add(E e) {
+        insert(size, e);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element to the specified position in the list. Shifts
+     * the initial element at the position and any subsequent elements to the right
+     *
+     * @throws IndexOutOfBoundsException
+     */
+    public void add(int index, E element) {
+        checkPositionIndex(index);
+        insert(index, element);
+    }
+
+    /**
+     * Replaces the current element at the specified position with the specified
+     * element
+     *
+     * @return the previous element
+     * @throws IndexOutOfBoundsException
+     */
+    public E set(int index, E element) {
+        checkElementIndex(index);
+        Node<E> x = node(index);
+        E oldVal = x.element;
+        x.element = element;
+        return oldVal;
+    }
+
+    /**
+     * @return the element at the specified position
+     */
+    public E get(int index) {
+        checkElementIndex(index);
+        return node(index).element;
+    }
+
+    /**
+     * Returns the index of the first occurence of the specified element, or -1 if
+     * list does not contain the element
+     */
+    public int indexOf(Object o) {
+        int index = 0;
+        for (Node<E> x = head.next[0]; x != null; x = x.next[0]) {
+            if (o == null ? x.element == null : o.equals(x.element))
+                return index;
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if list contains the specified element, false otherwise
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    /**
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E getFirst() {
+        if (size == 0) throw new NoSuchElementException();
+        return head.next[0].element;
+    }
+
+    /**
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E getLast() {
+        if (size == 0) throw new NoSuchElementException();
+        return last.element;
+    }
+
+    /**
+     * @return the size of the list (number of elements)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes the element at the specified position
+     *
+     * @return the previous element
+     */
+    public E remove(int index) {
+        checkElementIndex(index);
+        return delete(index);
+    }
+
+    /**
+     * Removes the first occurence of the specified element
+     *
+     * @return true if the list contained the element
+     */
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) return false;
+        delete(index);
+        return true;
+    }
+
+    /**
+     * Removes the first element
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E removeFirst() {
+        if (size == 0) throw new NoSuchElementException();
+        return delete(0);
+    }
+
+    /**
+     * Removes the last element
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E removeLast() {
+        if (size == 0) throw new NoSuchElementException();
+        return delete(size - 1);
+    }
+
+    /**
+     * Removes all elements in this list.
+     * The list will be empty after this call returns.
+     */
+    public void clear() {
+        for (Node<E> x = head.next[0]; x != null; ) {
+            Node<E> next = x.next[0];
+            x.element = null;
+            java.util.Arrays.fill(x.next, null);
+            x = next;
+        }
+        java.util.Arrays.fill(head.next, null);
+        head.width[0] = 1;
+        last = null;
+        level = 1;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * @return An array version of the linked list
+     */
+    public Object[] toArray() {
+        final Object[] array = new Object[size];
+        int i = 0;
+        for (Node<E> x = head.next[0]; x != null; x = x.next[0]) {
+            array[i++] = x.element;
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private Node<E> next = head.next[0];
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            E e = next.element;
+            next = next.next[0];
+            return e;
+        }
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * @return (non-null) Node at the specified index
+     */
+    private Node<E> node(int index) {
+        final int target = index + 1;
+        Node<E> x = head;
+        int pos = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && pos + x.width[i] <= target) {
+                pos += x.width[i];
+                x = x.next[i];
+            }
+            if (pos == target) return x;
+        }
+        return x;
+    }
+
+    /**
+     * Fills update and rank with the last node before position index + 1 on every level.
+     */
+    private void findPredecessors(int index) {
+        Node<E> x = head;
+        int pos = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && pos + x.width[i] <= index) {
+                pos += x.width[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+            rank[i] = pos;
+        }
+    }
+
+    private void insert(int index, E e) {
+        final int lvl = randomLevel();
+        if (lvl > level) {
+            for (int i = level; i < lvl; i++) {
+                head.next[i] = null;
+                head.width[i] = size + 1;
+            }
+            level = lvl;
+        }
+        findPredecessors(index);
+
+        final int target = index + 1;
+        final Node<E> x = new Node<>(e, lvl);
+        for (int i = 0; i < lvl; i++) {
+            Node<E> p = update[i];
+            int before = target - rank[i];
+            x.next[i] = p.next[i];
+            x.width[i] = p.width[i] - before + 1;
+            p.next[i] = x;
+            p.width[i] = before;
+        }
+        for (int i = lvl; i < level; i++) update[i].width[i]++;
+        if (x.next[0] == null) last = x;
+        size++;
+        modCount++;
+        clearUpdate();
+    }
+
+    private E delete(int index) {
+        findPredecessors(index);
+        final Node<E> x = update[0].next[0];
+        for (int i = 0; i < level; i++) {
+            Node<E> p = update[i];
+            if (p.next[i] == x) {
+                p.width[i] += x.width[i] - 1;
+                p.next[i] = x.next[i];
+            } else {
+                p.width[i]--;
+            }
+        }
+        if (x == last) last = update[0] == head ? null : update[0];
+        while (level > 1 && head.next[level - 1] == null) level--;
+
+        E element = x.element;
+        x.element = null;
+        size--;
+        modCount++;
+        clearUpdate();
+        return element;
+    }
+
+    /**
+     * Drops the references held in the scratch array, so removed nodes can be collected.
+     */
+    private void clearUpdate() {
+        java.util.Arrays.fill(update, 0, level, null);
+    }
+
+    /**
+     * @return a level between 1 and MAX_LEVEL, each level above 1 with probability 1/4
+     */
+    private int randomLevel() {
+        int r = seed;
+        r ^= r << 13;
+        r ^= r >>> 17;
+        r ^= r << 5;
+        seed = r;
+        return Math.min(MAX_LEVEL, (Integer.numberOfTrailingZeros(r | (1 << 30)) >>> 1) + 1);
+    }
+
+    /**
+     * Tells if argument is an index of an existing element.
+     */
+    private boolean isElementIndex(int index) {
+        return index >= 0 && index < size;
+    }
+
+    private void checkElementIndex(int index) {
+        if (!isElementIndex(index))
+            throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
+    }
+
+    /**
+     * Tells if argument is the index of a valid position for iterator and add
+     */
+    private boolean isPositionIndex(int index) {
+        return index >= 0 && index <= size;
+    }
+
+    private void checkPositionIndex(int index) {
+        if (!isPositionIndex(index))
+            throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
+    }
+
+}
@@ -0,0 +1,476 @@
+package ds.linkedlist;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Doubly linked list without node objects. Every element lives in a slot of an elements
+ * array, and its links are the slot numbers stored in the parallel prev and next int
+ * arrays. A slot number is not the position of the element in the list: slots are
+ * handed out in whatever order they become free. Unlinked slots are chained on a
+ * free-list and reused by the next insertion, so a list whose size stays bounded stops
+ * allocating once the arrays have grown.
+ *
+ * The slot number of an element is a stable handle: it does not change while the
+ * element is in the list, and unlink(handle) removes the element in O(1) without
+ * searching. A handle is recycled once its element is removed, so it must not be used
+ * after that.
+ */
+@SuppressWarnings("unchecked")
+public class PooledDLL<E> implements Iterable<E> {
+
+    /**
+     * Handle meaning "no element", returned at the ends of the list
+     */
+    public static final int NIL = -1;
+
+    private static final int FREE = -2;     // prev[] of a slot on the free-list
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Linked List properties
+    private Object[] elements;
+    private int[] prev;
+    private int[] next;
+    private int first = NIL;
+    private int last = NIL;
+    private int freeHead = NIL;     // free-list of recycled slots, linked through next[]
+    private int highWater = 0;      // slots at or above this index have never been used
+    private int size = 0;
+    private int modCount = 0;
+
+    public PooledDLL() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity : number of slots allocated up front
+     */
+    public PooledDLL(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        elements = new Object[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+    }
+
+    // PUBLIC METHODS
+
+    /**
+     * Inserts the specified element at the beginning of the list
+     * @return the handle of the new element
+     */
+    public int addFirst(E e) {
+        return linkBefore(e, first);
+    }
+
+    /**
+     * Appends the specified element to the end of the list
+     * @return the handle of the new element
+     */
+    public int addLast(E e) {
+        return linkBefore(e, NIL);
+    }
+
+    /**
+     * Appends the specified element to the end of the list
+     *
+     * @return true
+     */
+    public boolean add(E e) {
+        linkBefore(e, NIL);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element to the specified position in the list. Shifts
+     * the initial element at the position and any subsequent elements to the right
+     *
+     * @throws IndexOutOfBoundsException
+     */
+    public void add(int index, E element) {
+        checkPositionIndex(index);
+        linkBefore(element, index == size ? NIL : slot(index));
+    }
+
+    /**
+     * Inserts the specified element before the element with handle succ
+     * @return the handle of the new element
+     */
+    public int insertBefore(int succ, E e) {
+        checkHandle(succ);
+        return linkBefore(e, succ);
+    }
+
+    /**
+     * Inserts the specified element after the element with handle pred
+     * @return the handle of the new element
+     */
+    public int insertAfter(int pred, E e) {
+        checkHandle(pred);
+        return linkBefore(e, next[pred]);
+    }
+
+    /**
+     * Removes the element with the specified handle in O(1)
+     * @return the removed element
+     */
+    public E unlink(int handle) {
+        checkHandle(handle);
+        return unlinkSlot(handle);
+    }
+
+    /**
+     * @return the element with the specified handle
+     */
+    public E element(int handle) {
+        checkHandle(handle);
+        return (E) elements[handle];
+    }
+
+    /**
+     * Replaces the element with the specified handle
+     * @return the previous element
+     */
+    public E setElement(int handle, E e) {
+        checkHandle(handle);
+        E oldVal = (E) elements[handle];
+        elements[handle] = e;
+        return oldVal;
+    }
+
+    /**
+     * @return the handle of the first element, or NIL if list is empty
+     */
+    public int firstHandle() {
+        return first;
+    }
+
+    /**
+     * @return the handle of the last element, or NIL if list is empty
+     */
+    public int lastHandle() {
+        return last;
+    }
+
+    /**
+     * @return the handle of the element after the specified one, or NIL
+     */
+    public int nextHandle(int handle) {
+        checkHandle(handle);
+        return next[handle];
+    }
+
+    /**
+     * @return the handle of the element before the specified one, or NIL
+     */
+    public int prevHandle(int handle) {
+        checkHandle(handle);
+        return prev[handle];
+    }
+
+    /**
+     * Replaces the current element at the specified position with the specified
+     * element
+     *
+     * @return the previous element
+     * @throws IndexOutOfBoundsException
+     */
+    public E set(int index, E element) {
+        checkElementIndex(index);
+        int x = slot(index);
+        E oldVal = (E) elements[x];
+        elements[x] = element;
+        return oldVal;
+    }
+
+    /**
+     * @return the element at the specified position
+     */
+    public E get(int index) {
+        checkElementIndex(index);
+        return (E) elements[slot(index)];
+    }
+
+    /**
+     * Returns the index of the first occurence of the specified element, or -1 if
+     * list does not contain the element
+     */
+    public int indexOf(Object o) {
+        int index = 0;
+        for (int x = first; x != NIL; x = next[x]) {
+            if (o == null ? elements[x] == null : o.equals(elements[x]))
+                return index;
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if list contains the specified element, false otherwise
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    /**
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E getFirst() {
+        if (first == NIL) throw new NoSuchElementException();
+        return (E) elements[first];
+    }
+
+    /**
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E getLast() {
+        if (last == NIL) throw new NoSuchElementException();
+        return (E) elements[last];
+    }
+
+    /**
+     * @return the size of the list (number of elements)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes the element at the specified position
+     *
+     * @return the previous element
+     */
+    public E remove(int index) {
+        checkElementIndex(index);
+        return unlinkSlot(slot(index));
+    }
+
+    /**
+     * Removes the first occurence of the specified element
+     *
+     * @return true if the list contained the element
+     */
+    public boolean remove(Object o) {
+        for (int x = first; x != NIL; x = next[x]) {
+            if (o == null ? elements[x] == null : o.equals(elements[x])) {
+                unlinkSlot(x);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the first element
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E removeFirst() {
+        if (first == NIL) throw new NoSuchElementException();
+        return unlinkSlot(first);
+    }
+
+    /**
+     * Removes the last element
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E removeLast() {
+        if (last == NIL) throw new NoSuchElementException();
+        return unlinkSlot(last);
+    }
+
+    /**
+     * Removes all elements in this list. The slots are kept for reuse.
+     * The list will be empty after this call returns.
+     */
+    public void clear() {
+        Arrays.fill(elements, 0, highWater, null);
+        first = last = freeHead = NIL;
+        highWater = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * @return An array version of the linked list
+     */
+    public Object[] toArray() {
+        final Object[] array = new Object[size];
+        int i = 0;
+        for (int x = first; x != NIL; x = next[x]) {
+            array[i++] = elements[x];
+        }
+        return array;
+    }
+
+    /**
+     * @return the number of slots allocated, used or not
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private int lastReturned = NIL;
+        private int next = first;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != NIL;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = PooledDLL.this.next[next];
+            return (E) elements[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == NIL)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            unlinkSlot(lastReturned);
+            lastReturned = NIL;
+            expectedModCount = modCount;
+        }
+    }
+
+    // PRIVATE METHODS
+
+    /**
+     * Takes a slot from the free-list, or a never used one, growing the arrays if needed.
+     */
+    private int allocate() {
+        int x = freeHead;
+        if (x != NIL) {
+            freeHead = next[x];
+            return x;
+        }
+        if (highWater == elements.length) grow();
+        return highWater++;
+    }
+
+    private void grow() {
+        int newCapacity = Math.max(DEFAULT_CAPACITY, elements.length + (elements.length >> 1));
+        elements = Arrays.copyOf(elements, newCapacity);
+        prev = Arrays.copyOf(prev, newCapacity);
+        next = Arrays.copyOf(next, newCapacity);
+    }
+
+    /**
+     * Links e before slot succ, or as last element if succ is NIL.
+     */
+    private int linkBefore(E e, int succ) {
+        final int x = allocate();
+        final int pred = succ == NIL ? last : prev[succ];
+        elements[x] = e;
+        prev[x] = pred;
+        next[x] = succ;
+        if (pred == NIL)
+            first = x;
+        else
+            next[pred] = x;
+        if (succ == NIL)
+            last = x;
+        else
+            prev[succ] = x;
+        size++;
+        modCount++;
+        return x;
+    }
+
+    /**
+     * Unlinks the used slot x and puts it on the free-list.
+     */
+    private E unlinkSlot(int x) {
+        final E element = (E) elements[x];
+        final int p = prev[x], n = next[x];
+        if (p == NIL)
+            first = n;
+        else
+            next[p] = n;
+        if (n == NIL)
+            last = p;
+        else
+            prev[n] = p;
+
+        elements[x] = null;
+        prev[x] = FREE;
+        next[x] = freeHead;
+        freeHead = x;
+        size--;
+        modCount++;
+        return element;
+    }
+
+    /**
+     * @return the slot of the element at the specified index
+     */
+    private int slot(int index) {
+        if (index < (size >> 1)) {
+            int x = first;
+            for (int i = 0; i < index; i++)
+                x = next[x];
+            return x;
+        } else {
+            int x = last;
+            for (int i = size - 1; i > index; i--)
+                x = prev[x];
+            return x;
+        }
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= highWater || prev[handle] == FREE)
+            throw new IllegalArgumentException("Invalid handle: " + handle);
+    }
+
+    /**
+     * Tells if argument is an index of an existing element.
+     */
+    private boolean isElementIndex(int index) {
+        return index >= 0 && index < size;
+    }
+
+    private void checkElementIndex(int index) {
+        if (!isElementIndex(index))
+            throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
+    }
+
+    /**
+     * Tells if argument is the index of a valid position for iterator and add
+     */
+    private boolean isPositionIndex(int index) {
+        return index >= 0 && index <= size;
+    }
+
+    private void checkPositionIndex(int index) {
+        if (!isPositionIndex(index))
+            throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
+    }
+
+}
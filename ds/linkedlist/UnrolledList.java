@@ -0,0 +1,437 @@
+package ds.linkedlist;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Unrolled doubly linked list. Every node holds a small array of up to nodeCapacity
+ * elements, so a scan follows one pointer per nodeCapacity elements and reads the rest
+ * from contiguous memory. Same API as DLL.
+ *
+ * A full node is split in two halves on insertion. A node that falls below a quarter
+ * full is merged with its successor when both fit in one node.
+ *
+ * get/set/add(int,E)/remove(int) O(n / nodeCapacity + nodeCapacity)
+ */
+@SuppressWarnings("unchecked")
+public class UnrolledList<E> implements Iterable<E> {
+
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    // Nested Node class
+    private static class Node {
+        final Object[] elements;
+        int count;
+        Node next;
+        Node prev;
+
+        Node(int capacity) {
+            elements = new Object[capacity];
+        }
+    }
+    // End of Nested Node class
+
+    // Linked List properties
+    private final int nodeCapacity;
+    private Node first;
+    private Node last;
+    private int size = 0;
+    private int modCount = 0;
+
+    public UnrolledList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * @param nodeCapacity : number of elements held by every node, at least 4
+     */
+    public UnrolledList(int nodeCapacity) {
+        if (nodeCapacity < 4) throw new IllegalArgumentException("Illegal node capacity: " + nodeCapacity);
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * Inserts the specified element at the beginning of the list
+     */
+    public void addFirst(E e) {
+        if (first == null || first.count == nodeCapacity) linkNodeBefore(new Node(nodeCapacity), first);
+        insertInNode(first, 0, e);
+    }
+
+    /**
+     * Appends the specified element to the end of the list
+     */
+    public void addLast(E e) {
+        if (last == null || last.count == nodeCapacity) linkNodeBefore(new Node(nodeCapacity), null);
+        last.elements[last.count++] = e;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Appends the specified element to the end of the list
+     *
+     * @return true
+     */
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element to the specified position in the list. Shifts
+     * the initial element at the position and any subsequent elements to the right
+     *
+     * @throws IndexOutOfBoundsException
+     */
+    public void add(int index, E element) {
+        checkPositionIndex(index);
+        if (index == size) {
+            addLast(element);
+            return;
+        }
+        Node x = first;
+        int offset = index;
+        while (offset >= x.count) {
+            offset -= x.count;
+            x = x.next;
+        }
+        if (x.count == nodeCapacity) {
+            split(x);
+            if (offset > x.count) {
+                offset -= x.count;
+                x = x.next;
+            }
+        }
+        insertInNode(x, offset, element);
+    }
+
+    /**
+     * Replaces the current element at the specified position with the specified
+     * element
+     *
+     * @return the previous element
+     * @throws IndexOutOfBoundsException
+     */
+    public E set(int index, E element) {
+        checkElementIndex(index);
+        Node x = first;
+        int offset = index;
+        if (index < (size >> 1)) {
+            while (offset >= x.count) {
+                offset -= x.count;
+                x = x.next;
+            }
+        } else {
+            x = last;
+            offset = size - index;      // distance from the end, 1-based
+            while (offset > x.count) {
+                offset -= x.count;
+                x = x.prev;
+            }
+            offset = x.count - offset;
+        }
+        E oldVal = (E) x.elements[offset];
+        x.elements[offset] = element;
+        return oldVal;
+    }
+
+    /**
+     * @return the element at the specified position
+     */
+    public E get(int index) {
+        checkElementIndex(index);
+        if (index < (size >> 1)) {
+            for (Node x = first; ; x = x.next) {
+                if (index < x.count) return (E) x.elements[index];
+                index -= x.count;
+            }
+        } else {
+            int fromEnd = size - index;
+            for (Node x = last; ; x = x.prev) {
+                if (fromEnd <= x.count) return (E) x.elements[x.count - fromEnd];
+                fromEnd -= x.count;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first occurence of the specified element, or -1 if
+     * list does not contain the element
+     */
+    public int indexOf(Object o) {
+        int base = 0;
+        for (Node x = first; x != null; x = x.next) {
+            final Object[] es = x.elements;
+            final int n = x.count;
+            if (o == null) {
+                for (int i = 0; i < n; i++) if (es[i] == null) return base + i;
+            } else {
+                for (int i = 0; i < n; i++) if (o.equals(es[i])) return base + i;
+            }
+            base += n;
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if list contains the specified element, false otherwise
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    /**
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E getFirst() {
+        if (first == null) throw new NoSuchElementException();
+        return (E) first.elements[0];
+    }
+
+    /**
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E getLast() {
+        if (last == null) throw new NoSuchElementException();
+        return (E) last.elements[last.count - 1];
+    }
+
+    /**
+     * @return the size of the list (number of elements)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes the element at the specified position
+     *
+     * @return the previous element
+     */
+    public E remove(int index) {
+        checkElementIndex(index);
+        Node x = first;
+        while (index >= x.count) {
+            index -= x.count;
+            x = x.next;
+        }
+        return removeFromNode(x, index);
+    }
+
+    /**
+     * Removes the first occurence of the specified element
+     *
+     * @return true if the list contained the element
+     */
+    public boolean remove(Object o) {
+        for (Node x = first; x != null; x = x.next) {
+            final Object[] es = x.elements;
+            for (int i = 0; i < x.count; i++) {
+                if (o == null ? es[i] == null : o.equals(es[i])) {
+                    removeFromNode(x, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the first element
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E removeFirst() {
+        if (first == null) throw new NoSuchElementException();
+        return removeFromNode(first, 0);
+    }
+
+    /**
+     * Removes the last element
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public E removeLast() {
+        if (last == null) throw new NoSuchElementException();
+        return removeFromNode(last, last.count - 1);
+    }
+
+    /**
+     * Removes all elements in this list.
+     * The list will be empty after this call returns.
+     */
+    public void clear() {
+        for (Node x = first; x != null; ) {
+            Node next = x.next;
+            Arrays.fill(x.elements, 0, x.count, null);
+            x.prev = x.next = null;
+            x = next;
+        }
+        first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * @return An array version of the linked list
+     */
+    public Object[] toArray() {
+        final Object[] array = new Object[size];
+        int i = 0;
+        for (Node x = first; x != null; x = x.next) {
+            System.arraycopy(x.elements, 0, array, i, x.count);
+            i += x.count;
+        }
+        return array;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (Node x = first; x != null; x = x.next) {
+            final Object[] es = x.elements;
+            for (int i = 0, n = x.count; i < n; i++) action.accept((E) es[i]);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private Node node = first;
+        private int offset = 0;
+        private int nextIndex = 0;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            if (offset == node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            nextIndex++;
+            return (E) node.elements[offset++];
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    // Helper Methods
+
+    /**
+     * Links the empty node newNode before succ, or at the end if succ is null.
+     */
+    private void linkNodeBefore(Node newNode, Node succ) {
+        Node pred = succ == null ? last : succ.prev;
+        newNode.prev = pred;
+        newNode.next = succ;
+        if (pred == null) first = newNode; else pred.next = newNode;
+        if (succ == null) last = newNode; else succ.prev = newNode;
+    }
+
+    private void unlinkNode(Node x) {
+        Node pred = x.prev, succ = x.next;
+        if (pred == null) first = succ; else pred.next = succ;
+        if (succ == null) last = pred; else succ.prev = pred;
+        x.prev = x.next = null;
+    }
+
+    /**
+     * Inserts e at offset of the non-full node x.
+     */
+    private void insertInNode(Node x, int offset, E e) {
+        System.arraycopy(x.elements, offset, x.elements, offset + 1, x.count - offset);
+        x.elements[offset] = e;
+        x.count++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Moves the upper half of the full node x into a new node linked after it.
+     */
+    private void split(Node x) {
+        Node y = new Node(nodeCapacity);
+        int half = x.count >>> 1;
+        int moved = x.count - half;
+        System.arraycopy(x.elements, half, y.elements, 0, moved);
+        Arrays.fill(x.elements, half, x.count, null);
+        x.count = half;
+        y.count = moved;
+        linkNodeBefore(y, x.next);
+    }
+
+    /**
+     * Removes the element at offset of node x, then drops or merges the node if it ran low.
+     */
+    private E removeFromNode(Node x, int offset) {
+        final Object[] es = x.elements;
+        E element = (E) es[offset];
+        System.arraycopy(es, offset + 1, es, offset, x.count - offset - 1);
+        es[--x.count] = null;
+        size--;
+        modCount++;
+
+        if (x.count == 0) {
+            unlinkNode(x);
+        } else if (x.count < nodeCapacity >>> 2) {
+            Node y = x.next;
+            if (y != null && x.count + y.count <= nodeCapacity) {
+                System.arraycopy(y.elements, 0, es, x.count, y.count);
+                x.count += y.count;
+                unlinkNode(y);
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Tells if argument is an index of an existing element.
+     */
+    private boolean isElementIndex(int index) {
+        return index >= 0 && index < size;
+    }
+
+    private void checkElementIndex(int index) {
+        if (!isElementIndex(index))
+            throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
+    }
+
+    /**
+     * Tells if argument is the index of a valid position for iterator and add
+     */
+    private boolean isPositionIndex(int index) {
+        return index >= 0 && index <= size;
+    }
+
+    private void checkPositionIndex(int index) {
+        if (!isPositionIndex(index))
+            throw new IndexOutOfBoundsException("Invalid Index: " + index + "Size = " + size);
+    }
+
+}
@@ -0,0 +1,155 @@
+package ds.stack;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Stack (Treiber stack) with an elimination array.
+ * The stack is a singly linked list whose head is swung with compareAndSet, so no
+ * thread ever blocks another. When a compareAndSet on the head fails because of
+ * contention, the thread backs off to a random slot of the elimination array instead
+ * of retrying at once: a pusher parks its node in a free slot for a short while, and a
+ * popper that finds a parked node takes it. Such a pair cancels out without touching
+ * the head, so throughput keeps up as more threads push and pop.
+ *
+ * size() is an approximate counter. Null elements are not permitted.
+ */
+public class ConcurrentStack<E> implements Iterable<E> {
+    // Nested Node class
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+    // End of Nested Node class
+
+    private static final int SPINS = 1 << 7;  // how long a parked push waits for a pop
+
+    // Instance variables
+    private final AtomicReference<Node<E>> head = new AtomicReference<>();
+    private final AtomicReferenceArray<Node<E>> elimination;
+    private final LongAdder count = new LongAdder();
+
+    // Constructors
+
+    // Create an empty stack with an elimination slot per available processor
+    public ConcurrentStack() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Create an empty stack with the given number of elimination slots
+    public ConcurrentStack(int eliminationSlots) {
+        if (eliminationSlots < 1) throw new IllegalArgumentException("Illegal elimination slots: " + eliminationSlots);
+        elimination = new AtomicReferenceArray<>(eliminationSlots);
+    }
+
+    // Pushes an element onto the top of the stack.
+    // @return the item argument
+    public E push(E e) {
+        if (e == null) throw new IllegalArgumentException("Null element");
+        final Node<E> node = new Node<>(e);
+        for (;;) {
+            Node<E> top = head.get();
+            node.next = top;
+            if (head.compareAndSet(top, node) || eliminatePush(node)) {
+                count.increment();
+                return e;
+            }
+        }
+    }
+
+    // Removes the element at the top of this stack and returns it.
+    // @return top element of stack, or null if the stack is empty
+    public E pop() {
+        for (;;) {
+            Node<E> top = head.get();
+            if (top == null) {
+                // A push may be parked on the elimination array
+                Node<E> parked = eliminatePop();
+                if (parked == null) return null;
+                count.decrement();
+                return parked.item;
+            }
+            if (head.compareAndSet(top, top.next)) {
+                count.decrement();
+                return top.item;
+            }
+            Node<E> parked = eliminatePop();
+            if (parked != null) {
+                count.decrement();
+                return parked.item;
+            }
+        }
+    }
+
+    // Looks at the element at the top of this stack without removing it from the stack.
+    // @return top element of stack, or null if the stack is empty
+    public E peek() {
+        Node<E> top = head.get();
+        return top == null ? null : top.item;
+    }
+
+    // Check if stack is Empty
+    public boolean isEmpty() {
+        return head.get() == null;
+    }
+
+    // Return the approximate size of the stack. Exact only while no push or pop is in progress
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    // Iterates from the top of the stack to the bottom, over the elements present when
+    // the iterator was created. Elements pushed or popped afterwards may or may not be seen
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = head.get();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                E e = next.item;
+                next = next.next;
+                return e;
+            }
+        };
+    }
+
+    // Parks node in a free random slot and waits for a pop to take it.
+    // @return true if a pop took the node
+    private boolean eliminatePush(Node<E> node) {
+        final int i = ThreadLocalRandom.current().nextInt(elimination.length());
+        if (!elimination.compareAndSet(i, null, node)) return false;
+        for (int spin = 0; spin < SPINS; spin++) {
+            if (elimination.get(i) != node) return true;
+            Thread.onSpinWait();
+        }
+        // Withdraw the offer. If that fails, a pop took the node in the meantime
+        return !elimination.compareAndSet(i, node, null);
+    }
+
+    // Takes a node parked in a random slot.
+    // @return the node, or null if the slot was empty or another pop won it
+    private Node<E> eliminatePop() {
+        final int i = ThreadLocalRandom.current().nextInt(elimination.length());
+        Node<E> node = elimination.get(i);
+        if (node != null && elimination.compareAndSet(i, node, null)) return node;
+        return null;
+    }
+
+}
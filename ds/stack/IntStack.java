@@ -0,0 +1,68 @@
+package ds.stack;
+
+import java.util.Arrays;
+
+/**
+ * Stack of primitive ints backed by a int[].
+ * Values are stored unboxed, so push and pop never allocate once the array has grown.
+ */
+public class IntStack extends PrimitiveStack {
+    // Instance variables
+    private int[] elements;
+
+    // Constructors
+
+    // Create an empty stack
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Create an empty stack with room for capacity values before it grows
+    public IntStack(int capacity) {
+        checkCapacity(capacity);
+        elements = new int[capacity];
+    }
+
+    // Pushes a value onto the top of the stack.
+    public void push(int value) {
+        ensureRoom();
+        elements[size++] = value;
+    }
+
+    // Removes the value at the top of this stack and returns it.
+    // @return top value of stack
+    public int pop() {
+        checkNotEmpty();
+        return elements[--size];
+    }
+
+    // Looks at the value at the top of this stack without removing it from the stack.
+    // @return top value of stack
+    public int peek() {
+        checkNotEmpty();
+        return elements[size - 1];
+    }
+
+    /**
+     * topmost value is considered to be at distance 1.
+     * @return the 1-based position if value is in the stack, -1 otherwise
+     */
+    public int search(int value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i] == value)
+                return size - i;
+        }
+        return -1;
+    }
+
+    // @return the values from the bottom of the stack to the top
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    int capacity() { return elements.length; }
+
+    @Override
+    void resize(int capacity) { elements = Arrays.copyOf(elements, capacity); }
+}
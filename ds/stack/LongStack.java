@@ -0,0 +1,68 @@
+package ds.stack;
+
+import java.util.Arrays;
+
+/**
+ * Stack of primitive longs backed by a long[].
+ * Values are stored unboxed, so push and pop never allocate once the array has grown.
+ */
+public class LongStack extends PrimitiveStack {
+    // Instance variables
+    private long[] elements;
+
+    // Constructors
+
+    // Create an empty stack
+    public LongStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Create an empty stack with room for capacity values before it grows
+    public LongStack(int capacity) {
+        checkCapacity(capacity);
+        elements = new long[capacity];
+    }
+
+    // Pushes a value onto the top of the stack.
+    public void push(long value) {
+        ensureRoom();
+        elements[size++] = value;
+    }
+
+    // Removes the value at the top of this stack and returns it.
+    // @return top value of stack
+    public long pop() {
+        checkNotEmpty();
+        return elements[--size];
+    }
+
+    // Looks at the value at the top of this stack without removing it from the stack.
+    // @return top value of stack
+    public long peek() {
+        checkNotEmpty();
+        return elements[size - 1];
+    }
+
+    /**
+     * topmost value is considered to be at distance 1.
+     * @return the 1-based position if value is in the stack, -1 otherwise
+     */
+    public int search(long value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i] == value)
+                return size - i;
+        }
+        return -1;
+    }
+
+    // @return the values from the bottom of the stack to the top
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    int capacity() { return elements.length; }
+
+    @Override
+    void resize(int capacity) { elements = Arrays.copyOf(elements, capacity); }
+}
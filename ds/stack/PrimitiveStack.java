@@ -0,0 +1,45 @@
+package ds.stack;
+
+import java.util.EmptyStackException;
+
+/**
+ * Size bookkeeping and growth shared by the primitive stacks.
+ * Subclasses own the typed array and only implement the reads and writes of values.
+ */
+abstract class PrimitiveStack {
+    static final int DEFAULT_CAPACITY = 10;
+
+    // Instance variables
+    int size = 0;
+
+    // Return the size of the stack
+    public int size() { return size; }
+
+    // Check if stack is Empty
+    public boolean isEmpty() { return size == 0; }
+
+    // Removes all values
+    public void clear() { size = 0; }
+
+    // Length of the typed array
+    abstract int capacity();
+
+    // Replaces the typed array with a copy of the given length
+    abstract void resize(int capacity);
+
+    // Grows the array by half its length if it is full
+    final void ensureRoom() {
+        int capacity = capacity();
+        if (size == capacity)
+            resize(Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1)));
+    }
+
+    final void checkNotEmpty() {
+        if (size == 0)
+            throw new EmptyStackException();
+    }
+
+    static void checkCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+}
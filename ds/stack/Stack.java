@@ -1,36 +1,60 @@
 package ds.stack;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.EmptyStackException;
 import java.util.Iterator;
-
-import ds.linkedlist.DLL;
+import java.util.NoSuchElementException;
 
 /**
- * Doubly Linked List implementation of a Stack
+ * Array implementation of a Stack.
+ * The top of the stack is the last used slot of the array, so push and pop touch a
+ * single slot and allocate nothing until the array has to grow.
  */
+@SuppressWarnings("unchecked")
 public class Stack<E> implements Iterable<E> {
+    private static final int DEFAULT_CAPACITY = 10;
+
     // Instance variables
-    private DLL<E> list = new DLL<>();
+    private Object[] elements;
+    private int size = 0;
+    private int modCount = 0;
 
     // Constructors
 
     // Create an empty stack
-    public Stack(){ }
+    public Stack() {
+        elements = new Object[DEFAULT_CAPACITY];
+    }
 
     // Create a stack with an initial element
     public Stack(E firstElement) {
-        list.add(firstElement);
+        this();
+        push(firstElement);
+    }
+
+    // Create an empty stack with room for capacity elements before it grows.
+    // A factory rather than a Stack(int) constructor, which new Stack<Integer>(5) would
+    // pick over Stack(E firstElement)
+    public static <E> Stack<E> withCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        Stack<E> stack = new Stack<>();
+        stack.elements = new Object[capacity];
+        return stack;
     }
 
     // Return the size of the stack
-    public int size() { return list.size(); }
+    public int size() { return size; }
 
     // Check if stack is Empty
-    public boolean isEmpty() { return size() == 0; }
+    public boolean isEmpty() { return size == 0; }
 
     // Pushes an element onto the top of the stack.
     // @return the item argument 
     public E push(E e) {
-        list.addFirst(e);
+        if (size == elements.length) grow();
+        elements[size++] = e;
+        modCount++;
         return e;
     }
 
@@ -38,41 +62,76 @@ public class Stack<E> implements Iterable<E> {
     // @return top element of stack
     public E pop() {
         if(isEmpty())
-            throw new java.util.EmptyStackException();
-        return list.removeFirst();
+            throw new EmptyStackException();
+        E e = (E) elements[--size];
+        elements[size] = null;
+        modCount++;
+        return e;
     }
     
     // Looks at the object at the top of this stack without removing it from the stack.
     // @return top element of stack
     public E peek() {
         if(isEmpty())
-            throw new java.util.EmptyStackException();
-        return list.getFirst();
+            throw new EmptyStackException();
+        return (E) elements[size - 1];
+    }
+
+    // Removes all elements
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
     }
+
     /**
      * topmost item is considered to be at distance 1.
      * @param o
      * @return the 1-based position if object is in the stack, -1 otherwise
      */
     public int search(Object o) {
+        final Object[] es = elements;
         if (o == null) {
-            for (int i = 0; i < list.size(); i++) {
-                if (list.get(i) == null)
-                    return 1 + i;
+            for (int i = size - 1; i >= 0; i--) {
+                if (es[i] == null)
+                    return size - i;
             }
         } else {
-            for (int i = 0; i < list.size(); i++) {
-                if (o.equals(list.get(i)))
-                    return 1 + i;
+            for (int i = size - 1; i >= 0; i--) {
+                if (o.equals(es[i]))
+                    return size - i;
             }
         }
         return -1;
     }
 
+    // Grows the array by half its length
+    private void grow() {
+        elements = Arrays.copyOf(elements, Math.max(DEFAULT_CAPACITY, elements.length + (elements.length >> 1)));
+    }
+
+    // Iterates from the top of the stack to the bottom
     @Override
     public Iterator<E> iterator() {
-        return list.iterator();
+        return new Iterator<E>() {
+            private int cursor = size;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor > 0;
+            }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (cursor <= 0)
+                    throw new NoSuchElementException();
+                return (E) elements[--cursor];
+            }
+        };
     }
 
 
-}
\ No newline at end of file
+}
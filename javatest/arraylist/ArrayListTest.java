@@ -2,6 +2,13 @@ package javatest.arraylist;
 
 import ds.arraylist.MyArrayList;
 
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
 public class ArrayListTest {
     public static void main(String[] args) {
         MyArrayList<String> nums = new MyArrayList<>();
@@ -40,5 +47,51 @@ public class ArrayListTest {
         for(String num : nums) {
             System.out.println(num);
         }
+
+        // Bulk operations
+        MyArrayList<Integer> ints = new MyArrayList<>(0, 2.0);
+        ints.addAll(new Integer[] {1, 2, 3, 4, 5, 6});
+        MyArrayList<Integer> more = new MyArrayList<>();
+        more.add(100);
+        more.add(200);
+        ints.addAll(2, more);
+        ints.removeIf(x -> x % 2 == 1);
+        System.out.println("after removeIf = " + ints);
+        try {
+            ints.removeIf(x -> { if (x == 100) throw new IllegalStateException(); return x == 2; });
+        } catch (IllegalStateException expected) { }
+        System.out.println("after throwing removeIf = " + ints + ", size = " + ints.size());
+        ints.retainAll(Set.of(2, 4, 100));
+        System.out.println("after retainAll = " + ints + ", length = " + ints.length());
+        ints.trimToSize();
+        System.out.println("after trimToSize length = " + ints.length());
+
+        // Batch edits on a large list stay linear
+        MyArrayList<Integer> big = new MyArrayList<>();
+        big.ensureCapacity(10000000);
+        for (int i = 0; i < 10000000; i++) big.add(i);
+        Set<Integer> drop = new HashSet<>();
+        for (int i = 0; i < 10000000; i += 3) drop.add(i);
+        long start = System.nanoTime();
+        big.removeAll(drop);
+        big.removeIf(x -> x % 2 == 0);
+        System.out.println("10M batch edits: " + (System.nanoTime() - start) / 1000000 + " ms, size = " + big.size());
+
+        // Parallel sort, forEach, reduce and stream on a custom pool
+        ForkJoinPool pool = new ForkJoinPool(4);
+        MyArrayList<Integer> random = new MyArrayList<>();
+        random.setSequentialCutoff(1 << 12);
+        Random rnd = new Random(7);
+        for (int i = 0; i < 1000000; i++) random.add(rnd.nextInt(1000000));
+        random.parallelSort(Comparator.reverseOrder(), pool);
+        for (int i = 1; i < random.size(); i++)
+            if (random.get(i - 1) < random.get(i)) throw new AssertionError("Not sorted at " + i);
+        LongAdder adder = new LongAdder();
+        random.parallelForEach(adder::add, pool);
+        long reduced = random.parallelReduce(0L, (acc, x) -> acc + x, Long::sum, pool);
+        long streamed = random.parallelStream().mapToLong(Integer::longValue).sum();
+        if (adder.sum() != reduced || reduced != streamed) throw new AssertionError("Parallel sums differ");
+        System.out.println("parallel sum = " + reduced + ", max = " + random.parallelReduce(Integer.MIN_VALUE, Math::max, pool));
+        pool.shutdown();
     }
 }
\ No newline at end of file
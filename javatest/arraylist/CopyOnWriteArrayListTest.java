@@ -0,0 +1,68 @@
+package javatest.arraylist;
+
+import ds.arraylist.CopyOnWriteArrayList;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CopyOnWriteArrayListTest {
+    public static void main(String[] args) throws InterruptedException {
+        CopyOnWriteArrayList<String> routes = new CopyOnWriteArrayList<>(new String[] {"a", "b", "c"});
+        Iterator<String> snapshot = routes.iterator();
+        routes.add("d");
+        routes.set(0, "A");
+        routes.remove("b");
+        routes.update(list -> {
+            list.add("e");
+            list.add(0, "z");
+            list.removeIf(s -> s.equals("c"));
+        });
+        StringBuilder old = new StringBuilder();
+        while (snapshot.hasNext()) old.append(snapshot.next());
+        System.out.println(routes + " size = " + routes.size() + ", old snapshot = " + old);
+
+        // A batch adding more than the spare slots of the private copy grows it
+        CopyOnWriteArrayList<Integer> many = new CopyOnWriteArrayList<>(new Integer[] {-1});
+        many.update(list -> { for (int i = 0; i < 40; i++) list.add(i); });
+        if (many.size() != 41 || many.get(0) != -1 || many.get(40) != 39) throw new AssertionError("Wrong batch " + many);
+
+        // Readers never see a half-applied batch: every snapshot sums to zero
+        CopyOnWriteArrayList<Integer> pairs = new CopyOnWriteArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                try {
+                    long n = 0;
+                    while (!done.get()) {
+                        int sum = 0;
+                        for (int x : pairs) sum += x;
+                        if (sum != 0) throw new AssertionError("Torn batch, sum = " + sum);
+                        n++;
+                    }
+                    reads.addAndGet(n);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                    done.set(true);
+                }
+            });
+            readers[t].start();
+        }
+        for (int i = 1; i <= 2000; i++) {
+            final int v = i;
+            pairs.update(list -> {
+                list.add(v);
+                list.add(-v);
+                if (list.size() > 100) { list.remove(0); list.remove(0); }
+            });
+        }
+        done.set(true);
+        for (Thread r : readers) r.join();
+        if (failure.get() != null) throw new AssertionError("Reader failed", failure.get());
+        System.out.println("size = " + pairs.size() + ", reads = " + (reads.get() > 0));
+    }
+}
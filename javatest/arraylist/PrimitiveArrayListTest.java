@@ -0,0 +1,36 @@
+package javatest.arraylist;
+
+import ds.arraylist.DoubleArrayList;
+import ds.arraylist.IntArrayList;
+import ds.arraylist.LongArrayList;
+
+public class PrimitiveArrayListTest {
+    public static void main(String[] args) {
+        IntArrayList ints = new IntArrayList(2);
+        ints.add(5);
+        ints.add(3);
+        ints.addAll(new int[] {9, 1, 7});
+        ints.add(0, 4);
+        ints.set(1, 8);
+        ints.remove(2);
+        ints.removeValue(9);
+        System.out.println(ints + " size = " + ints.size() + ", contains(7) = " + ints.contains(7));
+        ints.sort();
+        System.out.println("sorted = " + ints + ", binarySearch(7) = " + ints.binarySearch(7) + ", binarySearch(6) = " + ints.binarySearch(6));
+
+        LongArrayList longs = new LongArrayList();
+        long sum = 0;
+        for (long i = 0; i < 1000000; i++) longs.add(i * i);
+        for (long v : longs) sum += v;
+        if (longs.binarySearch(999L * 999L) != 999 || longs.toArray().length != 1000000) throw new AssertionError("LongArrayList");
+        System.out.println("longs sum = " + sum);
+
+        DoubleArrayList doubles = new DoubleArrayList();
+        doubles.addAll(new double[] {2.5, Double.NaN, -0.0, 1.0});
+        System.out.println("indexOf(NaN) = " + doubles.indexOf(Double.NaN) + ", indexOf(0.0) = " + doubles.indexOf(0.0));
+        double[] total = {0};
+        doubles.forEachDouble(d -> { if (!Double.isNaN(d)) total[0] += d; });
+        doubles.sort();
+        System.out.println("sorted = " + doubles + ", total = " + total[0]);
+    }
+}
@@ -0,0 +1,58 @@
+package javatest.arraylist;
+
+import ds.arraylist.RecordList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RecordListTest {
+    // Record layout: [long id][double price][int quantity]
+    private static final int ID = 0, PRICE = 8, QUANTITY = 16, RECORD_SIZE = 20;
+
+    public static void main(String[] args) throws IOException {
+        // Small segments so the list spans many of them
+        RecordList direct = RecordList.allocateDirect(RECORD_SIZE, 1 << 12);
+        for (int i = 0; i < 100000; i++) {
+            long r = direct.append();
+            direct.putLong(r, ID, i);
+            direct.putDouble(r, PRICE, i * 0.5);
+            direct.putInt(r, QUANTITY, i % 7);
+        }
+        RecordList.Record rec = direct.record(0);
+        double total = 0;
+        for (long i = 0; i < direct.size(); i++) {
+            rec.moveTo(i);
+            total += rec.getDouble(PRICE) * rec.getInt(QUANTITY);
+        }
+        System.out.println("size = " + direct.size() + ", capacity = " + direct.capacity() + ", total = " + total);
+
+        Path dir = Files.createTempDirectory("recordlist");
+        Path copy = dir.resolve("copy.rl");
+        direct.writeTo(copy);
+        RecordList loaded = RecordList.readFrom(copy);
+        if (loaded.size() != direct.size() || loaded.getLong(99999, ID) != 99999 || loaded.getDouble(12345, PRICE) != 12345 * 0.5)
+            throw new AssertionError("readFrom");
+        direct.close();
+
+        // Mapped list persists across close and open
+        Path file = dir.resolve("mapped.rl");
+        try (RecordList mapped = RecordList.create(file, RECORD_SIZE)) {
+            for (int i = 0; i < 50000; i++) mapped.record(mapped.append()).putLong(ID, i).putInt(QUANTITY, 2 * i);
+            mapped.removeLast();
+        }
+        try (RecordList mapped = RecordList.open(file)) {
+            if (mapped.size() != 49999 || mapped.getInt(40000, QUANTITY) != 80000) throw new AssertionError("open");
+            System.out.println("mapped size = " + mapped.size() + ", last id = " + mapped.getLong(mapped.size() - 1, ID));
+        }
+        try {
+            loaded.getInt(0, 18);
+            throw new AssertionError("Field past the record accepted");
+        } catch (IndexOutOfBoundsException expected) { }
+        loaded.close();
+
+        Files.delete(copy);
+        Files.delete(file);
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,43 @@
+package javatest.cache;
+
+import ds.cache.*;
+
+public class CacheTest {
+    public static void main(String[] args) {
+        LRUCache<Integer, String> cache = new LRUCache<>(3);
+        cache.put(1, "Naruto");
+        cache.put(2, "Sasuke");
+        cache.put(3, "Sakura");
+        cache.get(1);               // 2 is now least recently used
+        cache.put(4, "Kakashi");    // evicts 2
+
+        System.out.println(cache.toString());
+        System.out.println("get(2) = " + cache.get(2));
+        System.out.println("hits = " + cache.hitCount() + ", misses = " + cache.missCount()
+                + ", evictions = " + cache.evictionCount());
+
+        // Weight based: strings weigh their length
+        LRUCache<Integer, String> weighted = new LRUCache<>(10, (k, v) -> v.length(), false);
+        weighted.put(1, "aaaa");
+        weighted.put(2, "bbbb");
+        weighted.put(3, "cccc");    // total 12 > 10, evicts 1
+        System.out.println(weighted.toString() + "weight = " + weighted.weightedSize());
+
+        // TinyLFU: a scan of one-off keys does not flush the popular ones
+        LRUCache<Integer, Integer> filtered = new LRUCache<>(100, true);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                if (filtered.get(i) == null) filtered.put(i, i);
+            }
+        }
+        for (int i = 1000; i < 2000; i++) filtered.put(i, i);
+        int survivors = 0;
+        for (int i = 0; i < 100; i++) if (filtered.containsKey(i)) survivors++;
+        System.out.println("popular keys kept = " + survivors + ", rejected = " + filtered.rejectionCount());
+
+        // Byte-weighted cache with the filter: the sketch follows the entry count, not the 16MB bound
+        LRUCache<Integer, byte[]> bytes = new LRUCache<>(16L << 20, (k, v) -> v.length, true);
+        for (int i = 0; i < 5000; i++) bytes.put(i, new byte[4096]);
+        System.out.println("byte-weighted size = " + bytes.size() + ", weight = " + bytes.weightedSize());
+    }
+}
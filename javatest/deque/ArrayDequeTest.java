@@ -0,0 +1,40 @@
+package javatest.deque;
+
+import ds.deque.*;
+
+import java.util.Random;
+
+public class ArrayDequeTest {
+    public static void main(String[] args) {
+        ArrayDeque<String> deque = new ArrayDeque<>(2);
+        deque.addLast("Naruto");
+        deque.addLast("Sasuke");
+        deque.addFirst("Sakura");
+        deque.addFirst("Kakashi");
+        deque.addLast("Itachi");
+        deque.pollLast();
+
+        for (String s : deque) {
+            System.out.println(s);
+        }
+        System.out.println("size = " + deque.size() + ", get(2) = " + deque.get(2) + ", peekLast = " + deque.peekLast());
+
+        // Random operations checked against java.util.ArrayDeque, wrapping around many times
+        Random rnd = new Random(3);
+        ArrayDeque<Integer> d = new ArrayDeque<>(4);
+        java.util.ArrayDeque<Integer> ref = new java.util.ArrayDeque<>();
+        for (int op = 0; op < 1000000; op++) {
+            int v = rnd.nextInt();
+            switch (rnd.nextInt(4)) {
+                case 0: d.addFirst(v); ref.addFirst(v); break;
+                case 1: d.addLast(v); ref.addLast(v); break;
+                case 2: if (!java.util.Objects.equals(d.pollFirst(), ref.pollFirst())) throw new AssertionError("pollFirst"); break;
+                default: if (!java.util.Objects.equals(d.pollLast(), ref.pollLast())) throw new AssertionError("pollLast");
+            }
+            if (d.size() != ref.size() || !java.util.Objects.equals(d.peek(), ref.peekFirst()))
+                throw new AssertionError("State differs after op " + op);
+        }
+        if (!java.util.Arrays.equals(d.toArray(), ref.toArray())) throw new AssertionError("toArray");
+        System.out.println("random ops ok, size = " + d.size());
+    }
+}
@@ -0,0 +1,60 @@
+package javatest.deque;
+
+import ds.deque.ArrayDeque;
+import ds.linkedlist.DLL;
+
+/**
+ * Queue (addLast/removeFirst) and stack (addFirst/removeFirst) churn on ArrayDeque
+ * against DLL. Each round keeps a window of WINDOW elements and pushes OPS through it.
+ */
+public class DequeBenchmark {
+    private static final int WINDOW = 1000;
+    private static final int OPS = 20000000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++) values[i] = i;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long sink = 0;
+
+            long start = System.nanoTime();
+            DLL<Integer> list = new DLL<>();
+            for (int i = 0; i < WINDOW; i++) list.addLast(values[i & 1023]);
+            for (int i = 0; i < OPS; i++) {
+                list.addLast(values[i & 1023]);
+                sink += list.removeFirst();
+            }
+            long dllQueue = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ArrayDeque<Integer> deque = new ArrayDeque<>();
+            for (int i = 0; i < WINDOW; i++) deque.addLast(values[i & 1023]);
+            for (int i = 0; i < OPS; i++) {
+                deque.addLast(values[i & 1023]);
+                sink += deque.pollFirst();
+            }
+            long dequeQueue = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            list = new DLL<>();
+            for (int i = 0; i < OPS; i++) {
+                list.addFirst(values[i & 1023]);
+                if ((i & 1) == 1) { sink += list.removeFirst(); sink += list.removeFirst(); }
+            }
+            long dllStack = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            deque = new ArrayDeque<>();
+            for (int i = 0; i < OPS; i++) {
+                deque.push(values[i & 1023]);
+                if ((i & 1) == 1) { sink += deque.pop(); sink += deque.pop(); }
+            }
+            long dequeStack = System.nanoTime() - start;
+
+            System.out.printf("round %d  queue: DLL %4d ms, ArrayDeque %4d ms   stack: DLL %4d ms, ArrayDeque %4d ms  (%d)%n",
+                    round, dllQueue / 1000000, dequeQueue / 1000000, dllStack / 1000000, dequeStack / 1000000, sink & 1);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package javatest.hashmap;
+
+import ds.hashmap.*;
+
+public class ConcurrentHashmapTest {
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentHashMapSC<Integer, String> map = new ConcurrentHashMapSC<>(4);
+        map.put(1, "Naruto");
+        map.put(2, "Sasuke");
+        map.put(3, "Sakura");
+        map.putIfAbsent(3, "Hinata");
+        map.remove(2);
+        System.out.println(map.toString());
+
+        // Writers on disjoint key ranges while readers scan, forcing many resizes
+        final ConcurrentHashMapSC<Integer, Integer> shared = new ConcurrentHashMapSC<>();
+        final int threads = 4, perThread = 200000;
+        Thread[] workers = new Thread[threads * 2];
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = base; i < base + perThread; i++) shared.put(i, i);
+                for (int i = base; i < base + perThread; i += 2) shared.remove(i);
+            });
+            workers[threads + t] = new Thread(() -> {
+                for (int i = 0; i < threads * perThread; i++) {
+                    Integer v = shared.get(i);
+                    if (v != null && v != i) throw new AssertionError("Wrong value for key " + i);
+                }
+            });
+        }
+        for (Thread w : workers) w.start();
+        for (Thread w : workers) w.join();
+
+        for (int i = 0; i < threads * perThread; i++) {
+            Integer v = shared.get(i);
+            if ((i % 2 == 0) != (v == null)) throw new AssertionError("Wrong value for key " + i);
+        }
+        System.out.println("shared size = " + shared.size());
+    }
+}
@@ -0,0 +1,105 @@
+package javatest.hashmap;
+
+import ds.hashmap.*;
+
+public class HashMapICTest {
+    public static void main(String[] args) {
+        // Three keys sharing a hash share one chain. put() links new nodes at the head,
+        // so the chain reads c, b, a.
+        Key a = new Key(0, 7), b = new Key(1, 7), c = new Key(2, 7);
+        HashMapIC<Key, Integer> chain = new HashMapIC<>(16);
+        chain.put(a, 0);
+        chain.put(b, 1);
+        chain.put(c, 2);
+        check(chain, c, b, a);
+
+        if (chain.remove(new Key(3, 7)) != null) throw new AssertionError("Removed a missing key");
+        check(chain, c, b, a);
+
+        chain.remove(b);                    // middle
+        check(chain, c, a);
+        chain.put(b, 1);                    // back at the head
+        check(chain, b, c, a);
+        chain.remove(b);                    // head
+        check(chain, c, a);
+        chain.remove(a);                    // tail
+        check(chain, c);
+        chain.remove(c);                    // last node
+        check(chain);
+        chain.put(a, 0);
+        check(chain, a);
+        System.out.println("chain = " + chain);
+
+        // Hashes 1, 5, 9 and 13 share bucket 1 of a 4 slot table, chained 13, 9, 5, 1.
+        // The fourth put doubles the table; the hash bit worth 4 splits the chain into
+        // 9, 1 at index 1 and 13, 5 at index 5, each keeping the old order.
+        Key k1 = new Key(1, 1), k5 = new Key(5, 5), k9 = new Key(9, 9), k13 = new Key(13, 13);
+        HashMapIC<Key, Integer> split = new HashMapIC<>(4);
+        split.put(k1, 1);
+        split.put(k5, 5);
+        split.put(k9, 9);
+        split.put(k13, 13);
+        check(split, k9, k1, k13, k5);
+
+        split.remove(k13);                  // head of the high chain
+        check(split, k9, k1, k5);
+        split.remove(k1);                   // tail of the low chain
+        check(split, k9, k5);
+        Key k17 = new Key(17, 17);          // 17 & 7 == 1, linked at the head of the low chain
+        split.put(k17, 17);
+        check(split, k17, k9, k5);
+        System.out.println("split = " + split);
+
+        // Grow well past the initial capacity and remove every other key
+        HashMapIC<Integer, Integer> big = new HashMapIC<>();
+        for (int i = 0; i < 100000; i++) big.put(i, i);
+        for (int i = 0; i < 100000; i += 2) big.remove(i);
+        for (int i = 0; i < 100000; i++) {
+            Integer v = big.get(i);
+            if ((i % 2 == 0) != (v == null)) throw new AssertionError("Wrong value for key " + i);
+        }
+        System.out.println("big size = " + big.size());
+    }
+
+    /**
+     * Checks that the map holds exactly the keys, each mapped to its id, in this table order
+     */
+    private static void check(HashMapIC<Key, Integer> map, Key... inOrder) {
+        StringBuilder expected = new StringBuilder();
+        for (Key key : inOrder) {
+            expected.append(key).append(':').append(key.id).append(' ');
+            Integer v = map.get(key);
+            if (v == null || v != key.id) throw new AssertionError("Wrong value for " + key + ": " + v);
+        }
+        if (!map.toString().equals(expected.toString()))
+            throw new AssertionError("Expected \"" + expected + "\", got \"" + map + "\"");
+        if (map.size() != inOrder.length) throw new AssertionError("Wrong size " + map.size());
+    }
+
+    /**
+     * Key with a chosen hashCode, so tests decide which keys share a bucket
+     */
+    private static final class Key {
+        final int id, hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public String toString() {
+            return "K" + id;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package javatest.hashmap;
+
+import ds.hashmap.*;
+
+public class HashMapOATest {
+    public static void main(String[] args) {
+        HashMapOA<Integer, String> map = new HashMapOA<>(4);
+        map.put(1, "Naruto");
+        map.put(2, "Sasuke");
+        map.put(3, "Sakura");
+        map.put(4, "Kakashi");
+        map.put(5, "Itachi");
+        map.put(6, "Jiraiya");
+        map.remove(3);
+
+        System.out.println(map.toString());
+        System.out.println("size = " + map.size());
+        System.out.println("get(5) = " + map.get(5));
+        System.out.println("containsKey(3) = " + map.containsKey(3));
+
+        // Grow well past the initial capacity and churn tombstones
+        HashMapOA<Integer, Integer> big = new HashMapOA<>();
+        for (int i = 0; i < 100000; i++) big.put(i, i);
+        for (int i = 0; i < 100000; i += 2) big.remove(i);
+        for (int i = 0; i < 100000; i++) {
+            Integer v = big.get(i);
+            if ((i % 2 == 0) != (v == null)) throw new AssertionError("Wrong value for key " + i);
+        }
+        System.out.println("big size = " + big.size());
+
+        // Churn at a fixed size. Filling to 1790 of 2048 slots and erasing down to 890 leaves
+        // tombstones in the groups that were full. 890 is below half the maximum load,
+        // so rehash() must purge them at the same capacity instead of doubling.
+        HashMapOA<Integer, Integer> same = new HashMapOA<>(1000);
+        final int capacity = same.capacity();
+        for (int i = 0; i < 1790; i++) same.put(i, i);
+        for (int i = 890; i < 1790; i++) same.remove(i);
+
+        // Erasing and reinserting the same keys reuses their DELETED slots
+        for (int round = 1; round <= 50; round++) {
+            for (int i = 0; i < 890; i++) {
+                same.remove(i);
+                same.put(i, i + round);
+            }
+            if (same.capacity() != capacity) throw new AssertionError("Capacity changed in round " + round);
+            for (int i = 0; i < 890; i++) {
+                if (same.get(i) != i + round) throw new AssertionError("Wrong value for key " + i + " in round " + round);
+            }
+        }
+        System.out.println("same keys size = " + same.size() + ", capacity = " + same.capacity());
+
+        // Churn through a sliding window of keys: every insert is a new key, so tombstones
+        // pile up until rehash() purges them
+        HashMapOA<Integer, Integer> window = new HashMapOA<>(1000);
+        for (int i = 0; i < 1790; i++) window.put(i, i);
+        for (int i = 0; i < 900; i++) window.remove(i);
+        for (int i = 1790; i < 200000; i++) {
+            window.remove(i - 890);
+            window.put(i, i);
+            if (window.capacity() != capacity) throw new AssertionError("Capacity changed at key " + i);
+            if (window.size() != 890) throw new AssertionError("Wrong size at key " + i);
+        }
+        for (int i = 0; i < 200000; i++) {
+            Integer v = window.get(i);
+            if ((i >= 200000 - 890) != (v != null)) throw new AssertionError("Wrong value for key " + i);
+        }
+        System.out.println("window size = " + window.size() + ", capacity = " + window.capacity());
+    }
+}
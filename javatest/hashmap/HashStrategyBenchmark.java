@@ -0,0 +1,54 @@
+package javatest.hashmap;
+
+import ds.hashmap.*;
+
+/**
+ * Compares the bucket indexing strategies of HashMapSC on integer keys.
+ * Each round fills a map and then looks every key up; the best round is reported.
+ * Strided keys keep consecutive keys in nearby buckets under modulo and mask, which
+ * favors them through cache locality; random keys scatter under every strategy.
+ * Flood keys satisfy h ^ (h >>> 16) == i << 16, so they all land in bucket 0 under MASK,
+ * as keys chosen by an attacker would; the seeded strategy scatters them.
+ */
+public class HashStrategyBenchmark {
+    private static final int KEYS = 1 << 20;
+    private static final int ROUNDS = 7;
+
+    public static void main(String[] args) {
+        Integer[] strided = new Integer[KEYS];
+        Integer[] random = new Integer[KEYS];
+        Integer[] flood = new Integer[1 << 16];
+        java.util.Random rnd = new java.util.Random(42);
+        for (int i = 0; i < KEYS; i++) {
+            strided[i] = i * 7;
+            random[i] = rnd.nextInt();
+        }
+        for (int i = 0; i < flood.length; i++) flood[i] = i << 16 | i;
+
+        for (Integer[] keys : new Integer[][] {strided, random, flood}) {
+            System.out.println(keys == strided ? "strided keys" : keys == random ? "random keys" : "flood keys");
+            run("modulo", HashStrategy.MODULO, keys);
+            run("mask", HashStrategy.MASK, keys);
+            run("fibonacci", HashStrategy.FIBONACCI, keys);
+            run("randomized", HashStrategy.randomized(), keys);
+        }
+    }
+
+    private static void run(String name, HashStrategy strategy, Integer[] keys) {
+        long bestPut = Long.MAX_VALUE, bestGet = Long.MAX_VALUE, check = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            HashMapSC<Integer, Integer> map = new HashMapSC<>(16, strategy);
+
+            long t0 = System.nanoTime();
+            for (Integer key : keys) map.put(key, key);
+            long t1 = System.nanoTime();
+            for (Integer key : keys) check += map.get(key);
+            long t2 = System.nanoTime();
+
+            bestPut = Math.min(bestPut, t1 - t0);
+            bestGet = Math.min(bestGet, t2 - t1);
+        }
+        System.out.printf("%-10s put %6.1f ns/op   get %6.1f ns/op   (%d)%n",
+                name, (double) bestPut / keys.length, (double) bestGet / keys.length, check);
+    }
+}
@@ -3,7 +3,7 @@ package javatest.hashmap;
 import ds.hashmap.*;
 
 public class HashmapTest {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws java.io.IOException {
         HashMapSC<Integer, String> map = new HashMapSC<>(4);
         map.put(1, "Naruto");
         map.put(2, "Sasuke");
@@ -13,6 +13,116 @@ public class HashmapTest {
         map.put(6, "Jiraiya");
 
         System.out.println(map.toString());
-    
+
+        // Incremental resize: entries migrate a few buckets at a time
+        HashMapSC<Integer, Integer> big = new HashMapSC<>(4, 0.75, true);
+        for (int i = 0; i < 100000; i++) big.put(i, i);
+        for (int i = 0; i < 100000; i += 2) big.remove(i);
+        for (int i = 0; i < 100000; i++) {
+            Integer v = big.get(i);
+            if ((i % 2 == 0) != (v == null)) throw new AssertionError("Wrong value for key " + i);
+        }
+        System.out.println("big size = " + big.size());
+
+        // Every HashStrategy, on keys with h ^ (h >>> 16) == i << 16, which all share
+        // bucket 0 under MASK and are scattered by the seeded strategy
+        HashStrategy[] strategies = {HashStrategy.MODULO, HashStrategy.MASK, HashStrategy.FIBONACCI, HashStrategy.randomized()};
+        for (HashStrategy strategy : strategies) {
+            HashMapSC<Integer, Integer> spread = new HashMapSC<>(16, 0.75, true, strategy);
+            for (int i = 0; i < 20000; i++) spread.put(i << 16 | i, i);
+            for (int i = 0; i < 20000; i += 3) spread.remove(i << 16 | i);
+            for (int i = 0; i < 20000; i++) {
+                Integer v = spread.get(i << 16 | i);
+                if ((i % 3 == 0) != (v == null)) throw new AssertionError("Wrong value for key " + i);
+            }
+            if (spread.size() != 13333) throw new AssertionError("Wrong size " + spread.size());
+        }
+
+        // Iteration: cursor, forEach and a parallel stream over the same map
+        long cursorSum = 0;
+        for (HashMapSC<Integer, Integer>.Cursor c = big.cursor(); c.advance(); ) cursorSum += c.value();
+        long[] forEachSum = new long[1];
+        big.forEach((k, v) -> forEachSum[0] += v);
+        long streamSum = big.stream().parallel().mapToLong(e -> e.getValue()).sum();
+        System.out.println("sums = " + cursorSum + " " + forEachSum[0] + " " + streamSum);
+
+        // Bulk operations
+        Integer[] keys = new Integer[50000];
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+            values[i] = "v" + i;
+        }
+        HashMapSC<Integer, String> bulk = new HashMapSC<>();
+        bulk.putAll(keys, values);
+        System.out.println("bulk removed = " + bulk.removeAll(new Integer[] {1, 2, 3, -1}));
+        String[] found = new String[3];
+        bulk.getAll(new Integer[] {0, 1, 49999}, found);
+        System.out.println("bulk getAll = " + found[0] + " " + found[1] + " " + found[2] + ", size = " + bulk.size());
+
+        // Snapshot and restore
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("hashmap", ".snapshot");
+        HashMapSnapshot.write(bulk, file, Codec.INTEGER, Codec.STRING);
+        HashMapSC<Integer, String> restored = HashMapSnapshot.read(file, Codec.INTEGER, Codec.STRING);
+        java.nio.file.Files.delete(file);
+        System.out.println("restored size = " + restored.size() + ", get(42) = " + restored.get(42));
+
+        // The 16-byte header and 61680 records of 17 bytes fill the first 1MB block exactly,
+        // so the next record does not even have room for its length
+        HashMapSC<Integer, Long> longs = new HashMapSC<>();
+        for (int i = 0; i < 100000; i++) longs.put(i, (long) i);
+        HashMapSnapshot.write(longs, file, Codec.INTEGER, Codec.LONG);
+        HashMapSC<Integer, Long> restoredLongs = HashMapSnapshot.read(file, Codec.INTEGER, Codec.LONG);
+        java.nio.file.Files.delete(file);
+        for (int i = 0; i < 100000; i++)
+            if (restoredLongs.get(i) != i) throw new AssertionError("Wrong restored value for " + i);
+        System.out.println("restored longs size = " + restoredLongs.size());
+
+        // Colliding keys: long chains turn into TreeBuckets and back into lists
+        HashMapSC<Collider, Integer> flood = new HashMapSC<>(64);
+        for (int i = 0; i < 1000; i++) flood.put(new Collider(i), i);
+        for (int i = 0; i < 1000; i++) {
+            if (flood.get(new Collider(i)) != i) throw new AssertionError("Wrong value for collider " + i);
+        }
+        long floodSum = 0;
+        for (HashMapSC<Collider, Integer>.Cursor c = flood.cursor(); c.advance(); ) floodSum += c.value();
+        if (floodSum != 999 * 1000 / 2) throw new AssertionError("Cursor missed colliders: " + floodSum);
+        for (int i = 0; i < 995; i++) flood.remove(new Collider(i));
+        System.out.println("flood = " + flood.toString());
+
+        // Colliding keys of a Comparable and a non-Comparable class in the same tree buckets,
+        // checked against java.util.HashMap
+        java.util.Random rnd = new java.util.Random(1);
+        HashMapSC<Object, Integer> mixed = new HashMapSC<>(64);
+        java.util.Map<Object, Integer> ref = new java.util.HashMap<>();
+        for (int op = 0; op < 200000; op++) {
+            int id = rnd.nextInt(60);
+            Object key = rnd.nextBoolean() ? new Collider(id) : new PlainCollider(id);
+            if (rnd.nextInt(3) > 0) {
+                if (!java.util.Objects.equals(mixed.put(key, op), ref.put(key, op))) throw new AssertionError("put at op " + op);
+            } else if (!java.util.Objects.equals(mixed.remove(key), ref.remove(key))) {
+                throw new AssertionError("remove at op " + op);
+            }
+            if (mixed.size() != ref.size()) throw new AssertionError("size at op " + op);
+        }
+        System.out.println("mixed colliders size = " + mixed.size());
+    }
+
+    // Every instance has the same hashCode
+    static class Collider implements Comparable<Collider> {
+        final int id;
+        Collider(int id) { this.id = id; }
+        @Override public int hashCode() { return 42; }
+        @Override public boolean equals(Object o) { return o instanceof Collider && ((Collider) o).id == id; }
+        @Override public int compareTo(Collider o) { return Integer.compare(id, o.id); }
+        @Override public String toString() { return "C" + id; }
+    }
+
+    // Same hashCode as Collider, but not Comparable
+    static class PlainCollider {
+        final int id;
+        PlainCollider(int id) { this.id = id; }
+        @Override public int hashCode() { return 42; }
+        @Override public boolean equals(Object o) { return o instanceof PlainCollider && ((PlainCollider) o).id == id; }
     }
 }
\ No newline at end of file
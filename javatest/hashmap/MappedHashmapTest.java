@@ -0,0 +1,37 @@
+package javatest.hashmap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import ds.hashmap.*;
+
+public class MappedHashmapTest {
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("mapped", ".map");
+        byte[] key = new byte[8], value = new byte[8];
+
+        try (MappedHashMap map = MappedHashMap.create(file, 8, 8, 16)) {
+            for (long i = 0; i < 100000; i++) map.put(longBytes(i), longBytes(i * i));
+            for (long i = 0; i < 100000; i += 2) map.remove(longBytes(i));
+            System.out.println("size = " + map.size());
+        }
+
+        // Reopen: the entries are read straight from the file
+        try (MappedHashMap map = MappedHashMap.open(file)) {
+            for (long i = 0; i < 100000; i++) {
+                ByteBuffer.wrap(key).putLong(0, i);
+                boolean found = map.get(key, value);
+                if (found != (i % 2 == 1)) throw new AssertionError("Wrong presence for key " + i);
+                if (found && ByteBuffer.wrap(value).getLong(0) != i * i) throw new AssertionError("Wrong value for key " + i);
+            }
+            System.out.println("reopened size = " + map.size());
+        }
+        Files.delete(file);
+    }
+
+    private static byte[] longBytes(long v) {
+        return ByteBuffer.allocate(8).putLong(v).array();
+    }
+}
@@ -0,0 +1,46 @@
+package javatest.hashmap;
+
+import ds.hashmap.*;
+
+public class PrimitiveHashMapTest {
+    public static void main(String[] args) {
+        IntObjectHashMap<String> names = new IntObjectHashMap<>(4);
+        names.put(0, "Zero");
+        names.put(1, "Naruto");
+        names.put(2, "Sasuke");
+        names.put(3, "Sakura");
+        names.put(-4, "Kakashi");
+        names.remove(2);
+        System.out.println(names.toString());
+        System.out.println("size = " + names.size());
+        System.out.println("get(0) = " + names.get(0));
+
+        // Growing from the smallest table: every insertion that grows the table must still land
+        IntObjectHashMap<Integer> grown = new IntObjectHashMap<>(0);
+        java.util.Random rnd = new java.util.Random(3);
+        java.util.Map<Integer, Integer> ref = new java.util.HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int k = rnd.nextInt();
+            if (!java.util.Objects.equals(grown.put(k, i), ref.put(k, i))) throw new AssertionError("put(" + k + ")");
+        }
+        for (java.util.Map.Entry<Integer, Integer> e : ref.entrySet())
+            if (!e.getValue().equals(grown.get(e.getKey()))) throw new AssertionError("get(" + e.getKey() + ")");
+        if (grown.size() != ref.size()) throw new AssertionError("size");
+        System.out.println("grown size = " + grown.size());
+
+        LongObjectHashMap<Long> ids = new LongObjectHashMap<>();
+        for (long i = 0; i < 100000; i++) ids.put(i << 32, i);
+        for (long i = 0; i < 100000; i += 2) ids.remove(i << 32);
+        for (long i = 0; i < 100000; i++) {
+            Long v = ids.get(i << 32);
+            if ((i % 2 == 0) != (v == null)) throw new AssertionError("Wrong value for key " + (i << 32));
+        }
+        System.out.println("ids size = " + ids.size());
+
+        LongLongHashMap counts = new LongLongHashMap();
+        for (long i = 0; i < 1000; i++) counts.addTo(i % 10, 1);
+        System.out.println("counts.get(3) = " + counts.get(3));
+        System.out.println("counts.get(42) = " + counts.get(42));
+        System.out.println("counts size = " + counts.size());
+    }
+}
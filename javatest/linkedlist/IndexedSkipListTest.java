@@ -0,0 +1,87 @@
+package javatest.linkedlist;
+
+import ds.linkedlist.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IndexedSkipListTest {
+    public static void main(String[] args) {
+        IndexedSkipList<String> list = new IndexedSkipList<>();
+        list.addFirst("1");
+        list.addFirst("233");
+        list.addLast("35");
+        list.addLast("823");
+        list.add(2, "92");
+        list.addFirst("3");
+        list.set(2, "2");
+        list.remove("823");
+
+        for (String s : list) {
+            System.out.println(s);
+        }
+        System.out.println("size = " + list.size() + ", indexOf(35) = " + list.indexOf("35"));
+
+        // Draining from the front removes the tallest nodes sooner or later, so the list
+        // drops levels. Every position must still be reachable through the widths.
+        IndexedSkipList<Integer> sl = new IndexedSkipList<>();
+        List<Integer> ref = new ArrayList<>();
+        for (int k = 0; k < 5000; k++) { sl.addLast(k); ref.add(k); }
+        while (!ref.isEmpty()) {
+            if (!sl.removeFirst().equals(ref.remove(0))) throw new AssertionError("removeFirst");
+            if (ref.size() % 97 == 0) check(sl, ref, "front drain");
+        }
+
+        // The list is empty and back to one level. Growing it again must not reuse stale widths.
+        for (int k = 0; k < 5000; k++) { int i = k / 2; sl.add(i, k); ref.add(i, k); }
+        check(sl, ref, "regrow");
+
+        // Removing the last element by index, by value and by removeLast moves last back,
+        // so the next addLast must land at the end.
+        for (int k = 0; k < 1000; k++) {
+            switch (k % 3) {
+                case 0: sl.remove(ref.size() - 1); break;
+                case 1: sl.remove(ref.get(ref.size() - 1)); break;
+                default: sl.removeLast();
+            }
+            ref.remove(ref.size() - 1);
+            sl.addLast(-k); ref.add(-k);
+            sl.removeLast(); ref.remove(ref.size() - 1);
+            if (!sl.getLast().equals(ref.get(ref.size() - 1))) throw new AssertionError("getLast after " + k);
+        }
+        check(sl, ref, "last");
+
+        // Removing from the middle until a single element is left
+        while (ref.size() > 1) {
+            int i = ref.size() / 2;
+            if (!sl.remove(i).equals(ref.remove(i))) throw new AssertionError("remove(" + i + ")");
+            if (ref.size() % 89 == 0) check(sl, ref, "middle drain");
+        }
+        check(sl, ref, "single");
+        sl.removeLast();
+        sl.addLast(7);
+        if (sl.size() != 1 || sl.getFirst() != 7 || sl.getLast() != 7) throw new AssertionError("reuse after empty");
+        System.out.println("widths and last ok");
+
+        // Positional inserts in the middle of a long list stay logarithmic
+        IndexedSkipList<Integer> big = new IndexedSkipList<>();
+        long start = System.nanoTime();
+        for (int k = 0; k < 1000000; k++) big.add(big.size() / 2, k);
+        long sum = 0;
+        for (int k = 0; k < big.size(); k += 7) sum += big.get(k);
+        System.out.println("1M middle inserts + gets: " + (System.nanoTime() - start) / 1000000 + " ms, sum = " + sum);
+    }
+
+    /**
+     * Checks every position, the last element, the iterator and toArray against ref.
+     */
+    private static void check(IndexedSkipList<Integer> list, List<Integer> ref, String what) {
+        if (list.size() != ref.size()) throw new AssertionError(what + ": size");
+        for (int i = 0; i < ref.size(); i++)
+            if (!list.get(i).equals(ref.get(i))) throw new AssertionError(what + ": get(" + i + ")");
+        if (!ref.isEmpty() && !list.getLast().equals(ref.get(ref.size() - 1))) throw new AssertionError(what + ": getLast");
+        int i = 0;
+        for (Integer x : list) if (!x.equals(ref.get(i++))) throw new AssertionError(what + ": iterator at " + i);
+        if (!java.util.Arrays.equals(list.toArray(), ref.toArray())) throw new AssertionError(what + ": toArray");
+    }
+}
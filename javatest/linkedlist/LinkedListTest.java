@@ -1,6 +1,9 @@
 package javatest.linkedlist;
 
 import ds.linkedlist.*;   
+
+import java.util.Arrays;
+import java.util.ListIterator;
 /**
  * LinkedListTest
  */
@@ -22,5 +25,37 @@ public class LinkedListTest {
         for(String s : list) {
           System.out.println(s);
         }
+
+        // Splice, split, ListIterator and removeIf
+        DLL<Integer> a = new DLL<>();
+        DLL<Integer> b = new DLL<>();
+        for (int i = 0; i < 5; i++) a.add(i);
+        for (int i = 5; i < 10; i++) b.add(i);
+        a.splice(b);
+        DLL<Integer> tail = a.splitAt(7);
+        System.out.println("a = " + Arrays.toString(a.toArray()) + ", tail = " + Arrays.toString(tail.toArray()) + ", b empty = " + b.isEmpty());
+
+        for (ListIterator<Integer> it = a.listIterator(); it.hasNext(); ) {
+            int x = it.next();
+            if (x == 2) it.remove();
+            else if (x == 4) it.set(40);
+            else if (x == 6) it.add(66);
+        }
+        ListIterator<Integer> back = a.listIterator(a.size());
+        StringBuilder reversed = new StringBuilder();
+        while (back.hasPrevious()) reversed.append(back.previous()).append(' ');
+        System.out.println("a = " + Arrays.toString(a.toArray()) + ", reversed = " + reversed);
+
+        a.removeIf(x -> x % 2 == 1);
+        System.out.println("even = " + Arrays.toString(a.toArray()) + ", size = " + a.size());
+
+        // Sequential and parallel streams agree
+        DLL<Long> big = new DLL<>();
+        for (long i = 1; i <= 3000000; i++) big.add(i);
+        long seq = big.stream().mapToLong(Long::longValue).sum();
+        long par = big.parallelStream().mapToLong(Long::longValue).sum();
+        long count = big.parallelStream().filter(x -> x % 3 == 0).count();
+        if (seq != par || seq != 3000000L * 3000001L / 2 || count != 1000000) throw new AssertionError("stream sums differ");
+        System.out.println("stream sum = " + par + ", multiples of 3 = " + count);
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package javatest.linkedlist;
+
+import ds.linkedlist.*;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+public class PooledDLLTest {
+    public static void main(String[] args) {
+        PooledDLL<String> list = new PooledDLL<>(4);
+        int a = list.addLast("Naruto");
+        int b = list.addLast("Sasuke");
+        list.addFirst("Sakura");
+        list.insertAfter(a, "Kakashi");
+        list.unlink(b);
+        list.add(1, "Itachi");
+
+        for (String s : list) {
+            System.out.println(s);
+        }
+        System.out.println("size = " + list.size() + ", element(a) = " + list.element(a));
+
+        // Queue churn: after warm-up the slots are recycled and the arrays never grow
+        PooledDLL<Integer> queue = new PooledDLL<>();
+        ArrayDeque<Integer> ref = new ArrayDeque<>();
+        for (int i = 0; i < 1000; i++) { queue.addLast(i); ref.addLast(i); }
+        int capacity = queue.capacity();
+        for (int i = 1000; i < 1000000; i++) {
+            queue.addLast(i);
+            ref.addLast(i);
+            if (!queue.removeFirst().equals(ref.removeFirst())) throw new AssertionError("removeFirst at " + i);
+        }
+        if (queue.capacity() != capacity) throw new AssertionError("Arrays grew during churn");
+
+        // Unlink by handle and through the iterator
+        int[] handles = new int[10];
+        PooledDLL<Integer> small = new PooledDLL<>();
+        for (int i = 0; i < 10; i++) handles[i] = small.addLast(i);
+        for (int i = 0; i < 10; i += 3) small.unlink(handles[i]);
+        for (Iterator<Integer> it = small.iterator(); it.hasNext(); ) if (it.next() % 2 == 0) it.remove();
+        System.out.println("small = " + java.util.Arrays.toString(small.toArray()));
+        try {
+            small.unlink(handles[0]);
+            throw new AssertionError("Stale handle accepted");
+        } catch (IllegalArgumentException expected) { }
+    }
+}
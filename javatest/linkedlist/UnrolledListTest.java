@@ -0,0 +1,65 @@
+package javatest.linkedlist;
+
+import ds.linkedlist.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class UnrolledListTest {
+    public static void main(String[] args) {
+        UnrolledList<String> list = new UnrolledList<>(4);
+        list.addFirst("1");
+        list.addFirst("233");
+        list.addLast("35");
+        list.addLast("823");
+        list.add(2, "92");
+        list.addFirst("3");
+        list.set(2, "2");
+        list.remove("823");
+
+        for (String s : list) {
+            System.out.println(s);
+        }
+        System.out.println("size = " + list.size() + ", indexOf(35) = " + list.indexOf("35"));
+
+        // Random operations checked against ArrayList, with small nodes so splits and merges happen often
+        Random rnd = new Random(42);
+        UnrolledList<Integer> ul = new UnrolledList<>(8);
+        List<Integer> ref = new ArrayList<>();
+        for (int op = 0; op < 200000; op++) {
+            int r = rnd.nextInt(10);
+            int v = rnd.nextInt(1000);
+            if (r < 2) { ul.addFirst(v); ref.add(0, v); }
+            else if (r < 4) { ul.addLast(v); ref.add(v); }
+            else if (r < 6) { int i = rnd.nextInt(ref.size() + 1); ul.add(i, v); ref.add(i, v); }
+            else if (r < 8 && !ref.isEmpty()) {
+                int i = rnd.nextInt(ref.size());
+                if (!ul.remove(i).equals(ref.remove(i))) throw new AssertionError("remove(" + i + ")");
+            }
+            else if (r < 9 && !ref.isEmpty()) {
+                int i = rnd.nextInt(ref.size());
+                if (!ul.set(i, v).equals(ref.set(i, v))) throw new AssertionError("set(" + i + ")");
+            }
+            else if (ul.remove((Object) v) != ref.remove((Object) v)) throw new AssertionError("remove(" + v + ")");
+
+            if (ul.size() != ref.size()) throw new AssertionError("size after op " + op);
+            if (!ref.isEmpty()) {
+                int i = rnd.nextInt(ref.size());
+                if (!ul.get(i).equals(ref.get(i))) throw new AssertionError("get(" + i + ")");
+            }
+        }
+        if (!java.util.Arrays.equals(ul.toArray(), ref.toArray())) throw new AssertionError("toArray");
+        int i = 0;
+        for (Integer x : ul) if (!x.equals(ref.get(i++))) throw new AssertionError("iterator at " + i);
+        System.out.println("random ops ok, size = " + ul.size());
+
+        // Iterators fail fast once the list is structurally modified
+        try {
+            for (Integer x : ul) if (x % 2 == 0) ul.addLast(x);
+            throw new AssertionError("No ConcurrentModificationException");
+        } catch (java.util.ConcurrentModificationException expected) {
+            System.out.println("iterator fails fast");
+        }
+    }
+}
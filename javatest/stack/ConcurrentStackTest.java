@@ -0,0 +1,49 @@
+package javatest.stack;
+
+import ds.stack.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrentStackTest {
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentStack<Integer> s = new ConcurrentStack<>();
+        s.push(1);
+        s.push(2);
+        s.push(3);
+        s.pop();
+
+        for (int i : s) {
+            System.out.println(i);
+        }
+        System.out.println("size = " + s.size() + ", peek = " + s.peek());
+
+        // Producers and consumers: every pushed value is popped exactly once
+        final int threads = 4, perThread = 200000;
+        ConcurrentStack<Integer> shared = new ConcurrentStack<>(2);
+        AtomicLong poppedSum = new AtomicLong();
+        AtomicLong poppedCount = new AtomicLong();
+        Thread[] workers = new Thread[threads * 2];
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) shared.push(base + i);
+            });
+            workers[threads + t] = new Thread(() -> {
+                long sum = 0, n = 0;
+                while (n < perThread) {
+                    Integer x = shared.pop();
+                    if (x != null) { sum += x; n++; }
+                }
+                poppedSum.addAndGet(sum);
+                poppedCount.addAndGet(n);
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread w : workers) w.start();
+        for (Thread w : workers) w.join();
+        long total = (long) threads * perThread;
+        if (poppedCount.get() != total || poppedSum.get() != total * (total + 1) / 2 || !shared.isEmpty() || shared.size() != 0)
+            throw new AssertionError("Lost or duplicated elements");
+        System.out.println(total + " pushes and pops in " + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+}
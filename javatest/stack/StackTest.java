@@ -22,5 +22,22 @@ public class StackTest {
         for (int i : s) {
             System.out.println(i);
         }
+        System.out.println("search(1) = " + s.search(1) + ", search(3) = " + s.search(3) + ", search(9) = " + s.search(9));
+
+        IntStack ints = new IntStack();
+        for (int i = 0; i < 100; i++) ints.push(i);
+        int sum = 0;
+        while (ints.size() > 50) sum += ints.pop();
+        System.out.println("IntStack popped sum = " + sum + ", peek = " + ints.peek() + ", search(40) = " + ints.search(40));
+
+        // new Stack<Integer>(5) still means a stack holding 5
+        Stack<Integer> one = new Stack<>(5);
+        Stack<Integer> empty = Stack.withCapacity(5);
+        System.out.println("new Stack<>(5).peek() = " + one.peek() + ", withCapacity(5).size() = " + empty.size());
+
+        LongStack longs = new LongStack(2);
+        longs.push(1L << 40);
+        longs.push(7L);
+        System.out.println("LongStack pop = " + longs.pop() + ", peek = " + longs.peek());
     }
 }
\ No newline at end of file